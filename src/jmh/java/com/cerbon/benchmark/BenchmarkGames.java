@@ -0,0 +1,29 @@
+package com.cerbon.benchmark;
+
+import com.cerbon.model.GameModel;
+import com.cerbon.repository.memory.InMemoryGamesRepository;
+
+import java.util.List;
+
+/**
+ * Deterministic game catalogs for benchmarks: the same size and seed always give the same games,
+ * so results from different commits are measured on identical data. The games come from
+ * {@link CatalogGenerator} without duplicates, so every one of them is stored.
+ */
+public final class BenchmarkGames {
+    public static final long SEED = 42;
+
+    private BenchmarkGames() {
+    }
+
+    /**
+     * {@code count} games with unique titles and realistically skewed gender, platform and status, all with id 0.
+     */
+    public static List<GameModel> generate(int count, long seed) {
+        return new CatalogGenerator(seed, 0).generate(count);
+    }
+
+    public static InMemoryGamesRepository repository(int count) {
+        return new CatalogGenerator(SEED, 0).repository(count);
+    }
+}
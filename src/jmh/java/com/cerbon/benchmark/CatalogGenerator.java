@@ -0,0 +1,296 @@
+package com.cerbon.benchmark;
+
+import com.cerbon.io.GameRecordWriter;
+import com.cerbon.model.GameModel;
+import com.cerbon.model.type.Gender;
+import com.cerbon.model.type.Platform;
+import com.cerbon.model.type.Status;
+import com.cerbon.repository.IGamesRepository;
+import com.cerbon.repository.file.FileGamesRepository;
+import com.cerbon.repository.file.FileStoreConfig;
+import com.cerbon.repository.memory.InMemoryGamesRepository;
+import com.cerbon.repository.postgres.DatabaseConfig;
+import com.cerbon.repository.postgres.PostgresConnectionPool;
+import com.cerbon.repository.postgres.PostgresGamesRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Deterministic generator of realistic game catalogs, from thousands to tens of millions of games.
+ * Every game is derived from the seed and its index alone, so catalogs of any size are streamed
+ * without being held in memory and the same seed always gives the same games. Genders, platforms
+ * and statuses follow a skewed distribution, titles vary in length from one word to long
+ * subtitled sequels, and a chosen fraction of the games repeat the title and platform of an
+ * earlier one (sometimes typed in another case), as the duplicate check would reject them.
+ * <p>
+ * Runs as {@code ./gradlew generateCatalog --args="--count=1000000 --output=catalog.csv.gz"},
+ * or with {@code --store=file|postgres} to add the games straight to the configured store.
+ */
+public final class CatalogGenerator {
+    /** Games added to a repository per bulk write, as in the importer. */
+    public static final int BATCH_SIZE = 5_000;
+
+    private static final int LATEST_YEAR = 2024;
+    private static final int OLDEST_YEAR = 1980;
+
+    private static final Weighted<Gender> GENDERS = Weighted.of(Gender.values(),
+            24, 14, 13, 8, 7, 8, 6, 4, 6, 4, 6);
+    private static final Weighted<Platform> PLATFORMS = Weighted.of(Platform.values(),
+            38, 22, 12, 14, 10, 4);
+    private static final Weighted<Status> STATUSES = Weighted.of(Status.values(),
+            30, 8, 12, 35, 15);
+    /** Words in a title besides its unique name: most titles have two or three. */
+    private static final Weighted<Integer> EXTRA_WORDS = Weighted.of(new Integer[]{0, 1, 2, 3, 4, 5},
+            14, 32, 27, 15, 8, 4);
+
+    private static final String[] WORDS = {
+            "Shadow", "Legend", "Crystal", "Iron", "Star", "Dragon", "Night", "Lost", "Eternal", "Kingdom",
+            "Rogue", "Quest", "Storm", "Ancient", "Neon", "Frontier", "Hollow", "Echo", "Titan", "Spirit",
+            "Chronicles", "Souls", "Tales", "Wars", "Rising", "Fall", "Origins", "Empire", "Heroes", "Blade",
+            "Dark", "Last", "Final", "Silent", "Broken", "Wild", "Sacred", "Forgotten", "Infinite", "Royal",
+            "Age", "Dawn", "Dusk", "Realm", "World", "Island", "City", "Road", "Depths", "Sky",
+            "Racing", "Football", "Tactics", "Simulator", "Puzzle", "Adventure", "Arena", "League", "Party", "Odyssey"
+    };
+    private static final String[] SEQUELS = {"2", "3", "4", "II", "III", "IV", "Remastered", "Deluxe"};
+    private static final String[] SYLLABLES = syllables();
+
+    private final long seed;
+    private final double duplicateRate;
+
+    /**
+     * @param duplicateRate fraction of the games, from 0 to 1, that repeat an earlier game's title and platform
+     */
+    public CatalogGenerator(long seed, double duplicateRate) {
+        if (duplicateRate < 0 || duplicateRate >= 1)
+            throw new IllegalArgumentException("Duplicate rate must be at least 0 and below 1: " + duplicateRate);
+        this.seed = seed;
+        this.duplicateRate = duplicateRate;
+    }
+
+    /**
+     * Game number {@code index} of the catalog, with id 0.
+     */
+    public GameModel game(long index) {
+        SplittableRandom random = random(index);
+
+        // A duplicate copies the title, gender and platform of an earlier game that is not itself a duplicate
+        long original = index;
+        SplittableRandom source = random;
+        while (original > 0 && source.nextDouble() < duplicateRate) {
+            original = source.nextLong(original);
+            source = random(original);
+        }
+
+        String title = title(source, original);
+        Gender gender = GENDERS.pick(source);
+        Platform platform = PLATFORMS.pick(source);
+        if (original != index)
+            title = retype(random, title);
+
+        int age = (int) Math.min(LATEST_YEAR - OLDEST_YEAR, -Math.log(1 - random.nextDouble()) * 8);
+        int rate = (int) Math.max(0, Math.min(10, Math.round(7 + random.nextGaussian() * 2)));
+        return new GameModel(0, title, gender, platform, LATEST_YEAR - age, STATUSES.pick(random), rate);
+    }
+
+    /**
+     * Passes the first {@code count} games to {@code consumer} in index order.
+     */
+    public void forEach(long count, Consumer<? super GameModel> consumer) {
+        for (long index = 0; index < count; index++)
+            consumer.accept(game(index));
+    }
+
+    public List<GameModel> generate(int count) {
+        List<GameModel> games = new ArrayList<>(count);
+        forEach(count, games::add);
+        return games;
+    }
+
+    /**
+     * Writes the first {@code count} games to {@code file}, as CSV or JSON Lines depending on its extension.
+     */
+    public long writeTo(Path file, long count) throws IOException {
+        try (GameRecordWriter writer = new GameRecordWriter(file)) {
+            forEach(count, game -> {
+                try {
+                    writer.write(game);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return writer.written();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Adds the first {@code count} games to {@code repository} in bulk writes of {@link #BATCH_SIZE}.
+     * Duplicates are rejected by the repository as usual; returns the number of games inserted.
+     */
+    public long addTo(IGamesRepository repository, long count) {
+        List<GameModel> batch = new ArrayList<>(BATCH_SIZE);
+        long inserted = 0;
+        for (long index = 0; index < count; index++) {
+            batch.add(game(index));
+            if (batch.size() == BATCH_SIZE || index == count - 1) {
+                inserted += repository.addAll(batch).inserted();
+                batch.clear();
+            }
+        }
+        return inserted;
+    }
+
+    public InMemoryGamesRepository repository(long count) {
+        InMemoryGamesRepository repository = new InMemoryGamesRepository();
+        addTo(repository, count);
+        return repository;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0)
+                throw new IllegalArgumentException("Expected --key=value, got: " + arg);
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        long count = Long.parseLong(options.getOrDefault("count", "100000"));
+        CatalogGenerator generator = new CatalogGenerator(
+                Long.parseLong(options.getOrDefault("seed", Long.toString(BenchmarkGames.SEED))),
+                Double.parseDouble(options.getOrDefault("duplicates", "0.01")));
+        String output = options.get("output");
+        String store = options.get("store");
+        options.keySet().removeAll(Set.of("count", "seed", "duplicates", "output", "store"));
+        if (!options.isEmpty())
+            throw new IllegalArgumentException("Unknown options: " + options.keySet());
+        if ((output == null) == (store == null))
+            throw new IllegalArgumentException("Expected either --output=<file> or --store=file|postgres");
+
+        long start = System.nanoTime();
+        if (output != null) {
+            long written = generator.writeTo(Path.of(output), count);
+            System.out.printf("Wrote %,d games to %s%n", written, output);
+        } else {
+            long inserted = addToStore(generator, store, count);
+            System.out.printf("Added %,d of %,d games to the %s store (the rest were duplicates)%n", inserted, count, store);
+        }
+        System.out.printf("Took %.1f s%n", (System.nanoTime() - start) / 1e9);
+    }
+
+    private static long addToStore(CatalogGenerator generator, String store, long count) throws IOException {
+        switch (store) {
+            case "file" -> {
+                try (FileGamesRepository repository = FileGamesRepository.open(FileStoreConfig.fromEnvironment())) {
+                    return generator.addTo(repository, count);
+                }
+            }
+            case "postgres" -> {
+                DatabaseConfig config = DatabaseConfig.fromEnvironment();
+                try (PostgresConnectionPool pool = new PostgresConnectionPool(config)) {
+                    return generator.addTo(new PostgresGamesRepository(pool, config.fetchSize()), count);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown store: " + store);
+        }
+    }
+
+    private SplittableRandom random(long index) {
+        // Mixed rather than offset: generators with nearby seeds would produce overlapping sequences
+        return new SplittableRandom(mix(seed * 0x9E3779B97F4A7C15L + index));
+    }
+
+    /**
+     * Title of the original game number {@code index}: a few common words around a made-up name unique to the index,
+     * sometimes with a subtitle or a sequel number.
+     */
+    private static String title(SplittableRandom random, long index) {
+        List<String> words = new ArrayList<>();
+        int extraWords = EXTRA_WORDS.pick(random);
+        while (words.size() < extraWords) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            if (words.isEmpty() || !words.getLast().equals(word)) words.add(word);
+        }
+        words.add(random.nextInt(words.size() + 1), name(index));
+
+        StringBuilder title = new StringBuilder(64);
+        if (random.nextInt(100) < 12) title.append("The ");
+        title.append(String.join(" ", words));
+        if (random.nextInt(100) < 20) {
+            title.append(':');
+            for (int i = 1 + random.nextInt(3); i > 0; i--)
+                title.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        if (random.nextInt(100) < 8)
+            title.append(' ').append(SEQUELS[random.nextInt(SEQUELS.length)]);
+        return title.toString();
+    }
+
+    /**
+     * The index written in base 64 with a syllable per digit, at least two syllables long.
+     */
+    private static String name(long index) {
+        StringBuilder name = new StringBuilder(12);
+        for (long rest = index + SYLLABLES.length; rest > 0; rest /= SYLLABLES.length)
+            name.append(SYLLABLES[(int) (rest % SYLLABLES.length)]);
+        name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+        return name.toString();
+    }
+
+    /**
+     * The title as someone adding the same game again might type it.
+     */
+    private static String retype(SplittableRandom random, String title) {
+        return switch (random.nextInt(4)) {
+            case 0 -> title.toUpperCase(Locale.ROOT);
+            case 1 -> title.toLowerCase(Locale.ROOT);
+            default -> title;
+        };
+    }
+
+    private static String[] syllables() {
+        String consonants = "bcdfghjklmnprstv";
+        String vowels = "aeio";
+        String[] syllables = new String[consonants.length() * vowels.length()];
+        for (int c = 0; c < consonants.length(); c++)
+            for (int v = 0; v < vowels.length(); v++)
+                syllables[c * vowels.length() + v] = "" + consonants.charAt(c) + vowels.charAt(v);
+        return syllables;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Values drawn with fixed relative weights, given in declaration order.
+     */
+    private record Weighted<E>(E[] values, int[] cumulative) {
+        static <E> Weighted<E> of(E[] values, int... weights) {
+            return new Weighted<>(values, cumulative(values, weights));
+        }
+
+        E pick(SplittableRandom random) {
+            int ticket = random.nextInt(cumulative[cumulative.length - 1]);
+            int i = 0;
+            while (cumulative[i] <= ticket) i++;
+            return values[i];
+        }
+
+        private static int[] cumulative(Object[] values, int[] weights) {
+            if (values.length != weights.length)
+                throw new IllegalArgumentException("Expected " + values.length + " weights, got " + weights.length);
+            int[] cumulative = weights.clone();
+            for (int i = 1; i < cumulative.length; i++)
+                cumulative[i] += cumulative[i - 1];
+            return cumulative;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.cerbon.benchmark;
+
+import com.cerbon.model.type.Gender;
+import com.cerbon.model.type.Platform;
+import com.cerbon.model.type.Status;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code fromString} parsers used when reading rows and imported files, for stored names,
+ * names typed in another case or with spaces, and unknown values that fall back to the default constant.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumParsingBenchmark {
+    private static final int INPUTS = 1024;
+
+    @Param({"EXACT", "MIXED_CASE", "UNKNOWN"})
+    public String input;
+
+    private String[] genders;
+    private String[] platforms;
+    private String[] statuses;
+
+    @Setup
+    public void setUp() {
+        genders = inputs(Gender.values());
+        platforms = inputs(Platform.values());
+        statuses = inputs(Status.values());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public void genderFromString(Blackhole blackhole) {
+        for (String value : genders)
+            blackhole.consume(Gender.fromString(value));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public void platformFromString(Blackhole blackhole) {
+        for (String value : platforms)
+            blackhole.consume(Platform.fromString(value));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INPUTS)
+    public void statusFromString(Blackhole blackhole) {
+        for (String value : statuses)
+            blackhole.consume(Status.fromString(value));
+    }
+
+    private String[] inputs(Enum<?>[] constants) {
+        String[] values = new String[INPUTS];
+        for (int i = 0; i < INPUTS; i++) {
+            String name = constants[i % constants.length].name();
+            values[i] = switch (input) {
+                case "EXACT" -> name;
+                case "MIXED_CASE" -> " " + name.charAt(0) + name.substring(1).toLowerCase() + " ";
+                default -> "unknown-" + name.toLowerCase();
+            };
+        }
+        return values;
+    }
+}
@@ -0,0 +1,74 @@
+package com.cerbon.benchmark;
+
+import com.cerbon.controller.GameController;
+import com.cerbon.model.GameModel;
+import com.cerbon.model.type.Gender;
+import com.cerbon.model.type.Platform;
+import com.cerbon.model.type.Status;
+import com.cerbon.repository.memory.InMemoryGamesRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controller queries against an in-memory catalog of {@code size} games: filtering, the concluded
+ * games reports and the duplicate check run by {@code validateGame} before every add.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameControllerBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private GameController controller;
+    private GameModel duplicate;
+    private GameModel unique;
+
+    @Setup
+    public void setUp() {
+        InMemoryGamesRepository repository = BenchmarkGames.repository(size);
+        controller = new GameController(repository, null);
+
+        GameModel existing = repository.getById(size / 2).orElseThrow();
+        // Same title as a stored game in another case and with spaces around it, as typed in the form
+        duplicate = new GameModel(0, "  " + existing.title().toUpperCase() + " ", existing.gender(),
+                existing.platform(), existing.year(), existing.status(), existing.rate());
+        unique = new GameModel(0, "Unreleased Sequel", Gender.RPG, Platform.PC, 2020, Status.WISHLIST, 0);
+    }
+
+    @Benchmark
+    public List<GameModel> filterByOneProperty() {
+        return controller.filterGames(Gender.RPG, null, null);
+    }
+
+    @Benchmark
+    public List<GameModel> filterByAllProperties() {
+        return controller.filterGames(Gender.RPG, Platform.PC, Status.CONCLUDED);
+    }
+
+    @Benchmark
+    public Map<Platform, Long> concludedGamesByPlatform() {
+        return controller.getConcludedGamesByPlatform();
+    }
+
+    @Benchmark
+    public Map<Gender, Long> concludedGamesByGender() {
+        return controller.getConcludedGamesByGender();
+    }
+
+    @Benchmark
+    public GameController.ValidationResult validateDuplicateGame() {
+        return controller.validateGame(duplicate);
+    }
+
+    @Benchmark
+    public GameController.ValidationResult validateUniqueGame() {
+        return controller.validateGame(unique);
+    }
+}
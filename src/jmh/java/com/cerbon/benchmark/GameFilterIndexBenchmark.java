@@ -0,0 +1,57 @@
+package com.cerbon.benchmark;
+
+import com.cerbon.model.GameModel;
+import com.cerbon.model.type.Gender;
+import com.cerbon.model.type.Platform;
+import com.cerbon.model.type.Status;
+import com.cerbon.repository.GameCriteria;
+import com.cerbon.repository.memory.GameFilterIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bitmap filters on a {@link GameFilterIndex} of {@code size} games, as the cache answers them while
+ * the whole catalog fits in it: counting the matches reads the bitsets alone, finding them also reads
+ * the matching games. The sizes above the default cache of 200k entries show what a larger cache would
+ * give; with the default settings such catalogs are filtered by the database instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameFilterIndexBenchmark {
+    private static final GameCriteria ONE_PROPERTY = new GameCriteria(Gender.RPG, null, null);
+    private static final GameCriteria ALL_PROPERTIES = new GameCriteria(Gender.RPG, Platform.PC, Status.CONCLUDED);
+
+    @Param({"200000", "1000000", "5000000"})
+    public int size;
+
+    private GameFilterIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new GameFilterIndex();
+        int id = 1;
+        for (GameModel game : BenchmarkGames.generate(size, BenchmarkGames.SEED))
+            index.put(new GameModel(id++, game.title(), game.gender(), game.platform(), game.year(), game.status(), game.rate()));
+    }
+
+    @Benchmark
+    public int countByOneProperty() {
+        return index.count(ONE_PROPERTY);
+    }
+
+    @Benchmark
+    public int countByAllProperties() {
+        return index.count(ALL_PROPERTIES);
+    }
+
+    @Benchmark
+    public List<GameModel> findByAllProperties() {
+        return index.find(ALL_PROPERTIES);
+    }
+}
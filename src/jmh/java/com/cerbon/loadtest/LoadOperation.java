@@ -0,0 +1,12 @@
+package com.cerbon.loadtest;
+
+/**
+ * Kinds of client requests the load test mixes, each issued through {@code GameController}.
+ */
+public enum LoadOperation {
+    ADD,
+    EDIT,
+    DELETE,
+    FILTER,
+    REPORT
+}
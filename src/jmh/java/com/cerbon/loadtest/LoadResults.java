@@ -0,0 +1,76 @@
+package com.cerbon.loadtest;
+
+import com.cerbon.repository.metrics.LatencyHistogram;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcome of one load step, per operation. Every request is recorded twice: its service time, from
+ * the moment its thread started running it, and its response time, from the moment the open-loop schedule
+ * made it due. The second is corrected for coordinated omission: a request that could not start on time,
+ * because the machine generating the load fell behind, is charged the time it spent waiting to start.
+ */
+public class LoadResults {
+    private final int targetRate;
+    private final Map<LoadOperation, Stats> stats = new EnumMap<>(LoadOperation.class);
+    private long measuredNanos;
+
+    public LoadResults(int targetRate) {
+        this.targetRate = targetRate;
+        for (LoadOperation operation : LoadOperation.values())
+            stats.put(operation, new Stats());
+    }
+
+    void record(LoadOperation operation, long serviceNanos, long responseNanos, boolean failed) {
+        Stats operationStats = stats.get(operation);
+        operationStats.serviceTime.record(serviceNanos);
+        operationStats.responseTime.record(responseNanos);
+        if (failed) operationStats.errors.increment();
+    }
+
+    void finish(long measuredNanos) {
+        this.measuredNanos = measuredNanos;
+    }
+
+    public void print(PrintStream out) {
+        double seconds = measuredNanos / 1e9;
+        long total = 0;
+        long errors = 0;
+        for (Stats operationStats : stats.values()) {
+            total += operationStats.serviceTime.count();
+            errors += operationStats.errors.sum();
+        }
+
+        out.printf("%nTarget %,d req/s -> achieved %,.1f req/s, %,d requests, %,d errors (%.2f%%)%n",
+                targetRate, total / seconds, total, errors, total == 0 ? 0 : 100.0 * errors / total);
+        out.printf("%-8s %10s %8s %10s | %-35s | %-35s%n", "", "", "", "", "service time (ms)", "response time, corrected (ms)");
+        out.printf("%-8s %10s %8s %10s | %8s %8s %8s %8s | %8s %8s %8s %8s%n",
+                "op", "requests", "errors", "req/s", "p50", "p99", "p99.9", "max", "p50", "p99", "p99.9", "max");
+
+        stats.forEach((operation, operationStats) -> {
+            LatencyHistogram.Snapshot service = operationStats.serviceTime.snapshot();
+            LatencyHistogram.Snapshot response = operationStats.responseTime.snapshot();
+            if (service.count() == 0) return;
+
+            out.printf("%-8s %,10d %,8d %,10.1f | %8.2f %8.2f %8.2f %8.2f | %8.2f %8.2f %8.2f %8.2f%n",
+                    operation.name().toLowerCase(), service.count(), operationStats.errors.sum(), service.count() / seconds,
+                    millis(service.percentileNanos(50)), millis(service.percentileNanos(99)),
+                    millis(service.percentileNanos(99.9)), millis(service.maxNanos()),
+                    millis(response.percentileNanos(50)), millis(response.percentileNanos(99)),
+                    millis(response.percentileNanos(99.9)), millis(response.maxNanos()));
+        });
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static final class Stats {
+        private final LatencyHistogram serviceTime = new LatencyHistogram();
+        private final LatencyHistogram responseTime = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,251 @@
+package com.cerbon.loadtest;
+
+import com.cerbon.benchmark.CatalogGenerator;
+import com.cerbon.controller.GameController;
+import com.cerbon.controller.GameController.OperationResult;
+import com.cerbon.model.GameModel;
+import com.cerbon.model.type.Gender;
+import com.cerbon.model.type.Platform;
+import com.cerbon.model.type.Status;
+import com.cerbon.repository.GameCriteria;
+import com.cerbon.repository.GamePageRequest;
+import com.cerbon.repository.GameSortKey;
+import com.cerbon.repository.IGamesRepository;
+import com.cerbon.repository.cache.CacheConfig;
+import com.cerbon.repository.cache.CachingGamesRepository;
+import com.cerbon.repository.cache.ReportCountingGamesRepository;
+import com.cerbon.repository.file.FileGamesRepository;
+import com.cerbon.repository.file.FileStoreConfig;
+import com.cerbon.repository.postgres.DatabaseConfig;
+import com.cerbon.repository.postgres.PostgresConnectionPool;
+import com.cerbon.repository.postgres.PostgresGamesRepository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load generator that simulates concurrent library clients calling {@link GameController}.
+ * Each client is a virtual thread that dispatches requests on an open-loop schedule: every request
+ * runs on its own virtual thread, started when it is due whether or not earlier ones have finished,
+ * as with real independent users, so a slow system cannot slow the load down and hide its own latency.
+ * Every target rate is run in turn and reported with service times and response times measured from
+ * when each request was due.
+ * <p>
+ * Edits only change the rate and status of games from the initial catalog, and deletes only remove
+ * games added by the run, so requests never fail for reasons the load test itself causes. The games
+ * the run added and did not delete are deleted when it ends.
+ */
+public class LoadTest {
+    private static final int PAGE_SIZE = 100;
+
+    private final LoadTestConfig config;
+    private final GameController controller;
+    private final GameModel[] editable;
+    private final Queue<Integer> deletable = new ConcurrentLinkedQueue<>();
+    private final AtomicLong addedTitles = new AtomicLong();
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    public LoadTest(LoadTestConfig config, IGamesRepository repository) {
+        this.config = config;
+        this.controller = new GameController(repository, null);
+
+        List<GameModel> games = new ArrayList<>();
+        controller.streamAllGames(games::add);
+        this.editable = games.toArray(GameModel[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromArgs(args);
+        List<AutoCloseable> resources = new ArrayList<>();
+        try {
+            System.out.printf("Preparing %s store with %,d games...%n", config.store().name().toLowerCase(), config.catalogSize());
+            LoadTest loadTest = new LoadTest(config, openRepository(config, resources));
+            System.out.printf("%d clients, %d s warm-up + %d s per rate, mix %s%n",
+                    config.clients(), config.warmup().toSeconds(), config.duration().toSeconds(), config.mix());
+
+            try {
+                for (int rate : config.rates())
+                    loadTest.run(rate).print(System.out);
+            } finally {
+                loadTest.deleteAddedGames();
+            }
+        } finally {
+            for (AutoCloseable resource : resources.reversed())
+                resource.close();
+        }
+    }
+
+    /**
+     * Runs one step at {@code rate} requests per second, spread evenly over the clients.
+     */
+    public LoadResults run(int rate) throws InterruptedException {
+        LoadResults results = new LoadResults(rate);
+        long start = System.nanoTime() + 100_000_000L;
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+        long interval = Math.max(1, (long) (config.clients() * 1e9 / rate));
+
+        // Closed after the clients, so every request they dispatched has finished before the results are read
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int client = 0; client < config.clients(); client++) {
+                    // Staggered so the clients' requests interleave instead of arriving in bursts
+                    long firstDue = start + (long) (client * 1e9 / rate);
+                    SplittableRandom random = new SplittableRandom(config.seed() * 31 + client);
+                    clients.submit(() -> runClient(random, requests, firstDue, interval, measureFrom, end, results));
+                }
+            }
+        }
+
+        results.finish(end - measureFrom);
+        return results;
+    }
+
+    /**
+     * Starts a request on {@code requests} each time one is due, without waiting for the earlier ones.
+     */
+    private void runClient(SplittableRandom random, ExecutorService requests, long firstDue, long interval,
+                           long measureFrom, long end, LoadResults results) {
+        int totalWeight = config.mix().values().stream().mapToInt(Integer::intValue).sum();
+
+        for (long due = firstDue; due < end; due += interval) {
+            long now;
+            while ((now = System.nanoTime()) < due)
+                LockSupport.parkNanos(due - now);
+
+            long dueAt = due;
+            LoadOperation operation = pick(random, totalWeight);
+            // SplittableRandom is not thread-safe, so each request gets its own
+            SplittableRandom requestRandom = random.split();
+            requests.submit(() -> {
+                long started = System.nanoTime();
+                boolean failed;
+                try {
+                    failed = !execute(operation, requestRandom);
+                } catch (RuntimeException e) {
+                    failed = true;
+                }
+                long finished = System.nanoTime();
+
+                if (dueAt >= measureFrom)
+                    results.record(operation, finished - started, finished - dueAt, failed);
+            });
+        }
+    }
+
+    /**
+     * Deletes the games added by the run that its own deletes did not remove.
+     */
+    public void deleteAddedGames() {
+        Integer id;
+        while ((id = deletable.poll()) != null)
+            controller.deleteGame(id);
+    }
+
+    private LoadOperation pick(SplittableRandom random, int totalWeight) {
+        int ticket = random.nextInt(totalWeight);
+        for (Map.Entry<LoadOperation, Integer> entry : config.mix().entrySet()) {
+            ticket -= entry.getValue();
+            if (ticket < 0) return entry.getKey();
+        }
+        throw new IllegalStateException("Operation mix has no weights");
+    }
+
+    private boolean execute(LoadOperation operation, SplittableRandom random) {
+        return switch (operation) {
+            case ADD -> add(random);
+            case EDIT -> edit(random);
+            case DELETE -> delete(random);
+            case FILTER -> {
+                controller.getGamesPage(GamePageRequest.first(randomCriteria(random), GameSortKey.ID, false, PAGE_SIZE));
+                yield true;
+            }
+            case REPORT -> controller.getConcludedGamesReport() != null;
+        };
+    }
+
+    private boolean add(SplittableRandom random) {
+        OperationResult<GameModel> result = controller.addGame("Load " + runId + " " + addedTitles.incrementAndGet(),
+                pickOf(random, Gender.values()), pickOf(random, Platform.values()), 1980 + random.nextInt(45),
+                pickOf(random, Status.values()), random.nextInt(11));
+        if (result.success()) deletable.add(result.data().id());
+        return result.success();
+    }
+
+    private boolean edit(SplittableRandom random) {
+        if (editable.length == 0) return add(random);
+
+        GameModel game = editable[random.nextInt(editable.length)];
+        return controller.updateGame(game.id(), game.title(), game.gender(), game.platform(), game.year(),
+                pickOf(random, Status.values()), random.nextInt(11)).success();
+    }
+
+    private boolean delete(SplittableRandom random) {
+        // Until the run has added games of its own there is nothing it may delete, so it adds one instead
+        Integer id = deletable.poll();
+        return id == null ? add(random) : controller.deleteGame(id).success();
+    }
+
+    private static GameCriteria randomCriteria(SplittableRandom random) {
+        return new GameCriteria(
+                pickOf(random, Gender.values()),
+                random.nextInt(2) == 0 ? pickOf(random, Platform.values()) : null,
+                random.nextInt(10) < 3 ? pickOf(random, Status.values()) : null);
+    }
+
+    private static <T> T pickOf(SplittableRandom random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static IGamesRepository openRepository(LoadTestConfig config, List<AutoCloseable> resources) throws IOException {
+        CatalogGenerator catalog = new CatalogGenerator(config.seed(), 0);
+
+        return switch (config.store()) {
+            case MEMORY -> catalog.repository(config.catalogSize());
+            case FILE -> {
+                Path directory = Files.createTempDirectory("gameslibrary-loadtest");
+                resources.add(() -> deleteDirectory(directory));
+                FileStoreConfig defaults = FileStoreConfig.fromEnvironment();
+                FileGamesRepository repository = FileGamesRepository.open(new FileStoreConfig(true, directory,
+                        defaults.fsyncPolicy(), defaults.fsyncInterval(), defaults.compactAfterRecords()));
+                resources.add(repository);
+                catalog.addTo(repository, config.catalogSize());
+                yield repository;
+            }
+            case POSTGRES -> {
+                DatabaseConfig defaults = DatabaseConfig.fromEnvironment();
+                DatabaseConfig databaseConfig = new DatabaseConfig(config.databaseUrl(), defaults.user(), defaults.password(),
+                        defaults.minPoolSize(), defaults.maxPoolSize(), defaults.connectionTimeout(), defaults.idleTimeout(),
+                        defaults.validationQuery(), defaults.leakDetectionThreshold(), defaults.fetchSize(), false);
+                PostgresConnectionPool pool = new PostgresConnectionPool(databaseConfig);
+                resources.add(pool);
+                IGamesRepository repository = new PostgresGamesRepository(pool, databaseConfig.fetchSize());
+
+                // Games left by an earlier run with the same seed are reported as duplicates and kept
+                long seeded = catalog.addTo(repository, config.catalogSize());
+                System.out.printf("Seeded %,d games (%,d already present)%n", seeded, config.catalogSize() - seeded);
+
+                CacheConfig cacheConfig = CacheConfig.fromEnvironment();
+                if (cacheConfig.enabled())
+                    repository = new CachingGamesRepository(repository, cacheConfig.maxEntries(), cacheConfig.evictionPolicy());
+                ReportCountingGamesRepository counting = new ReportCountingGamesRepository(repository);
+                counting.rebuild();
+                yield counting;
+            }
+        };
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (var files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList())
+                Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.cerbon.loadtest;
+
+import com.cerbon.repository.postgres.DatabaseConfig;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Settings of a load-test run, read from {@code --key=value} arguments with the defaults below.
+ * {@code rates} may list several target rates, which are run one after the other on the same catalog
+ * to find where latency starts to grow. The postgres store needs a database of its own, given by
+ * {@code databaseUrl}: the run seeds the catalog into it and edits its games.
+ */
+public record LoadTestConfig(
+        TargetStore store,
+        int catalogSize,
+        int clients,
+        List<Integer> rates,
+        Duration warmup,
+        Duration duration,
+        Map<LoadOperation, Integer> mix,
+        long seed,
+        String databaseUrl) {
+
+    public LoadTestConfig {
+        if (clients < 1)
+            throw new IllegalArgumentException("Invalid number of clients: " + clients);
+        if (rates.isEmpty() || rates.stream().anyMatch(rate -> rate < 1))
+            throw new IllegalArgumentException("Invalid target rates: " + rates);
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() < 1)
+            throw new IllegalArgumentException("Operation mix has no weights: " + mix);
+        if (store == TargetStore.POSTGRES && databaseUrl == null)
+            throw new IllegalArgumentException("--store=postgres needs --db-url=<JDBC URL> of a database kept for load tests");
+        if (store == TargetStore.POSTGRES && databaseUrl.equals(DatabaseConfig.fromEnvironment().url()))
+            throw new IllegalArgumentException("--db-url is the application's database; use one kept for load tests");
+        rates = List.copyOf(rates);
+        mix = Collections.unmodifiableMap(new EnumMap<>(mix));
+    }
+
+    public static LoadTestConfig fromArgs(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0)
+                throw new IllegalArgumentException("Expected --key=value, got: " + arg);
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        LoadTestConfig config = new LoadTestConfig(
+                TargetStore.valueOf(values.getOrDefault("store", "memory").toUpperCase(Locale.ROOT)),
+                Integer.parseInt(values.getOrDefault("catalog", "100000")),
+                Integer.parseInt(values.getOrDefault("clients", "200")),
+                Arrays.stream(values.getOrDefault("rate", "1000,5000,20000").split(",")).map(String::trim).map(Integer::valueOf).toList(),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "5"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "20"))),
+                parseMix(values.getOrDefault("mix", "add:5,edit:10,delete:5,filter:60,report:20")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                values.get("db-url")
+        );
+        values.keySet().removeAll(Set.of("store", "catalog", "clients", "rate", "warmup", "duration", "mix", "seed", "db-url"));
+        if (!values.isEmpty())
+            throw new IllegalArgumentException("Unknown options: " + values.keySet());
+        return config;
+    }
+
+    private static Map<LoadOperation, Integer> parseMix(String value) {
+        Map<LoadOperation, Integer> mix = new EnumMap<>(LoadOperation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2)
+                throw new IllegalArgumentException("Expected operation:weight in the mix, got: " + entry);
+            mix.put(LoadOperation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+}
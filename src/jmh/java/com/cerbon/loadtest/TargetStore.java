@@ -0,0 +1,13 @@
+package com.cerbon.loadtest;
+
+/**
+ * Repository the load test runs against.
+ */
+public enum TargetStore {
+    /** {@code InMemoryGamesRepository}: the application code alone. */
+    MEMORY,
+    /** The embedded file store in a temporary directory, with its default fsync policy. */
+    FILE,
+    /** The configured PostgreSQL database ({@code GAMESLIBRARY_DB_*}) behind the usual cache and report counters. */
+    POSTGRES
+}
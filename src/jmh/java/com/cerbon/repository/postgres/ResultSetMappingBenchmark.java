@@ -0,0 +1,64 @@
+package com.cerbon.repository.postgres;
+
+import com.cerbon.benchmark.BenchmarkGames;
+import com.cerbon.model.GameModel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PostgresGamesRepository#mapResultSetToGameModel} over a result of {@code rows} games.
+ * The rows come from an {@link ArrayResultSet} holding the columns as stored (enums as SMALLINT codes) in typed
+ * arrays, so the measurement covers the mapping itself but no network, wire decoding or boxing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResultSetMappingBenchmark {
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int rows;
+
+    private int[] ids;
+    private String[] titles;
+    private short[] genders;
+    private short[] platforms;
+    private int[] years;
+    private short[] statuses;
+    private int[] rates;
+
+    @Setup
+    public void setUp() {
+        List<GameModel> games = BenchmarkGames.generate(rows, BenchmarkGames.SEED);
+        ids = new int[rows];
+        titles = new String[rows];
+        genders = new short[rows];
+        platforms = new short[rows];
+        years = new int[rows];
+        statuses = new short[rows];
+        rates = new int[rows];
+        for (int row = 0; row < rows; row++) {
+            GameModel game = games.get(row);
+            ids[row] = row + 1;
+            titles[row] = game.title();
+            genders[row] = game.gender().code();
+            platforms[row] = game.platform().code();
+            years[row] = game.year();
+            statuses[row] = game.status().code();
+            rates[row] = game.rate();
+        }
+    }
+
+    @Benchmark
+    public void mapResultSetToGameModel(Blackhole blackhole) throws SQLException {
+        ResultSet rs = new ArrayResultSet(rows, ids, titles, genders, platforms, years, statuses, rates);
+        while (rs.next())
+            blackhole.consume(PostgresGamesRepository.mapResultSetToGameModel(rs));
+    }
+}
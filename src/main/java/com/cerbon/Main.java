@@ -1,31 +1,84 @@
 package com.cerbon;
 
 import com.cerbon.controller.GameController;
+import com.cerbon.http.GamesHttpServer;
+import com.cerbon.http.HttpApiConfig;
+import com.cerbon.io.GameExporter;
+import com.cerbon.io.GameImporter;
+import com.cerbon.io.ImportSummary;
 import com.cerbon.repository.IGamesRepository;
+import com.cerbon.repository.RepositoryException;
+import com.cerbon.repository.cache.CacheConfig;
+import com.cerbon.repository.cache.CachingGamesRepository;
+import com.cerbon.repository.cache.ReportCountingGamesRepository;
+import com.cerbon.repository.file.FileGamesRepository;
+import com.cerbon.repository.file.FileStoreConfig;
+import com.cerbon.repository.metrics.InstrumentedGamesRepository;
+import com.cerbon.repository.metrics.MetricsConfig;
+import com.cerbon.repository.metrics.RepositoryMetrics;
+import com.cerbon.repository.postgres.DatabaseConfig;
+import com.cerbon.repository.postgres.PostgresChangeFeed;
+import com.cerbon.repository.postgres.PostgresConnectionPool;
 import com.cerbon.repository.postgres.PostgresGamesRepository;
+import com.cerbon.repository.postgres.WriteBehindConfig;
+import com.cerbon.repository.postgres.WriteBehindGamesRepository;
 import com.cerbon.view.GamesLibraryMainView;
 
 import javax.swing.*;
+import java.io.IOException;
+import java.nio.file.Path;
 
 /**
  * Main entry point for the Games Library application.
- * This class initializes the Swing GUI application with PostgreSQL database support,
+ * Without arguments it initializes the Swing GUI application with PostgreSQL database support
+ * (or the embedded file store when it is enabled),
  * sets up the system look and feel, and launches the main application window.
+ * With arguments it runs a headless command instead, such as importing or exporting a file
+ * or serving the library over HTTP.
  */
 public class Main {
+    private static final String WRITE_BEHIND_FLUSH = "writeBehindFlush";
+    private static final String USAGE = """
+            Uso:
+              (sem argumentos)        abre a interface gráfica
+              --import <arquivo>      importa jogos de um arquivo .csv ou .jsonl (opcionalmente .gz)
+              --export <arquivo>      exporta a biblioteca para um arquivo .csv ou .jsonl (opcionalmente .gz)
+              --serve [porta]         serve a API HTTP em JSON, sem interface gráfica (porta padrão 8080)
+
+            Com GAMESLIBRARY_FILE_ENABLED=true os jogos ficam em arquivos locais, sem PostgreSQL.
+            """;
+
     public static void main(String[] args) {
+        if (args.length > 0) {
+            System.exit(runCommand(args));
+        }
+
         try {
             UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
         } catch (ClassNotFoundException | InstantiationException | IllegalAccessException | UnsupportedLookAndFeelException e) {
             System.err.println("Warning: Could not set system look and feel: " + e.getMessage());
         }
 
+        // The repository is built here so that the EDT never waits on the database
+        Backend backend;
+        try {
+            backend = openBackend(true);
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(null, "Erro ao abrir os dados locais em " + FileStoreConfig.fromEnvironment().directory()
+                            + ":\n" + e.getMessage(), "Erro de Inicialização", JOptionPane.ERROR_MESSAGE);
+            System.err.println("Failed to open file store: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
         // Initialize application on EDT (Event Dispatch Thread)
         SwingUtilities.invokeLater(() -> {
             try {
-                IGamesRepository repository = new PostgresGamesRepository();
                 GamesLibraryMainView mainView = new GamesLibraryMainView();
-                GameController controller = new GameController(repository, mainView);
+                GameController controller = new GameController(backend.repository(), mainView);
+                // Already listening: whatever the feed published before this was committed before the table loads
+                if (backend.changeFeed() != null)
+                    backend.changeFeed().subscribe(controller);
 
                 System.out.println("Games Library application started successfully!");
 
@@ -44,4 +97,177 @@ public class Main {
             }
         });
     }
-}
\ No newline at end of file
+
+    /**
+     * Repository for the one-shot headless commands: the local file store when enabled, otherwise PostgreSQL.
+     */
+    private static IGamesRepository createRepository() throws IOException {
+        return openBackend(false).repository();
+    }
+
+    /**
+     * Opens the configured store and builds its repository stack, instrumented when metrics are enabled.
+     * For long-running modes ({@code longRunning}) the PostgreSQL stack follows the change feed, started here
+     * before any data is loaded, and the report counters are built in the background.
+     */
+    private static Backend openBackend(boolean longRunning) throws IOException {
+        FileStoreConfig fileConfig = FileStoreConfig.fromEnvironment();
+        MetricsConfig metricsConfig = MetricsConfig.fromEnvironment();
+        RepositoryMetrics metrics = metricsConfig.enabled() ? new RepositoryMetrics() : null;
+        if (fileConfig.enabled())
+            return new Backend(instrument(openFileRepository(fileConfig, metrics), metrics, metricsConfig), null);
+
+        DatabaseConfig config = DatabaseConfig.fromEnvironment();
+        PostgresChangeFeed changeFeed = longRunning && config.changeFeed() ? new PostgresChangeFeed(config) : null;
+        if (changeFeed != null)
+            Runtime.getRuntime().addShutdownHook(new Thread(changeFeed::close));
+        IGamesRepository repository = createRepository(config, changeFeed, metrics);
+        // Listening before the cache and the counters first load, so the feed needs no RESET on its first connect
+        if (changeFeed != null) changeFeed.start();
+        // Build the report counters in the background so the first report is already instant
+        if (longRunning && repository instanceof ReportCountingGamesRepository counting)
+            Thread.ofVirtual().name("gameslibrary-report-counters").start(() -> {
+                try {
+                    counting.rebuild();
+                } catch (RepositoryException e) {
+                    // Still stale, so the first report retries
+                    System.err.println("Error building report counters: " + e.getMessage());
+                }
+            });
+
+        return new Backend(instrument(repository, metrics, metricsConfig), changeFeed);
+    }
+
+    /**
+     * Wraps the repository so every call is measured, when metrics are enabled.
+     */
+    private static IGamesRepository instrument(IGamesRepository repository, RepositoryMetrics metrics, MetricsConfig config) {
+        if (metrics == null) return repository;
+
+        InstrumentedGamesRepository instrumented = new InstrumentedGamesRepository(repository, metrics);
+        if (config.jmx()) metrics.registerMBeans();
+        return instrumented;
+    }
+
+    private static IGamesRepository openFileRepository(FileStoreConfig config, RepositoryMetrics metrics) throws IOException {
+        FileGamesRepository repository = FileGamesRepository.open(config);
+        if (metrics != null) repository.onError(metrics::recordFailure);
+        Runtime.getRuntime().addShutdownHook(new Thread(repository::close));
+        return repository;
+    }
+
+    /**
+     * Builds the repository stack; the decorators that hold data in memory follow {@code changeFeed} when given,
+     * and connection waits and swallowed errors are reported to {@code metrics} when given.
+     */
+    private static IGamesRepository createRepository(DatabaseConfig config, PostgresChangeFeed changeFeed, RepositoryMetrics metrics) {
+        PostgresConnectionPool pool = new PostgresConnectionPool(config);
+        if (metrics != null) pool.onConnectionWait(metrics::recordConnectionWait);
+        PostgresGamesRepository postgres = new PostgresGamesRepository(pool, config.fetchSize());
+        if (metrics != null) postgres.onError(metrics::recordFailure);
+        IGamesRepository repository = postgres;
+
+        WriteBehindConfig writeBehindConfig = WriteBehindConfig.fromEnvironment();
+        WriteBehindGamesRepository writeBehind = writeBehindConfig.enabled()
+                ? new WriteBehindGamesRepository(postgres, pool, writeBehindConfig)
+                : null;
+        if (writeBehind != null) repository = writeBehind;
+        if (writeBehind != null && metrics != null) {
+            // Created now so that its MBean is registered with the others
+            metrics.operation(WRITE_BEHIND_FLUSH);
+            writeBehind.onFlush((elapsed, committed, failed) ->
+                    metrics.recordBackground(WRITE_BEHIND_FLUSH, elapsed, committed, failed > 0));
+        }
+        // Queued writes need the pool to be committed, so they are flushed before it closes
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (writeBehind != null) writeBehind.close();
+            pool.close();
+        }));
+
+        CacheConfig cacheConfig = CacheConfig.fromEnvironment();
+        if (cacheConfig.enabled()) {
+            CachingGamesRepository cache = new CachingGamesRepository(repository, cacheConfig.maxEntries(), cacheConfig.evictionPolicy());
+            if (changeFeed != null) changeFeed.subscribe(cache);
+            repository = cache;
+        }
+
+        ReportCountingGamesRepository counting = new ReportCountingGamesRepository(repository);
+        if (changeFeed != null) changeFeed.subscribe(counting);
+        if (writeBehind != null) writeBehind.onWriteFailure(counting::invalidateCaches);
+        return counting;
+    }
+
+    private static int runCommand(String[] args) {
+        try {
+            switch (args[0]) {
+                case "--import" -> {
+                    if (args.length < 2) break;
+                    return importFile(Path.of(args[1]));
+                }
+                case "--export" -> {
+                    if (args.length < 2) break;
+                    return exportFile(Path.of(args[1]));
+                }
+                case "--serve" -> {
+                    return serve(args.length > 1 ? Integer.parseInt(args[1]) : null);
+                }
+                case "--help", "-h" -> {
+                    System.out.print(USAGE);
+                    return 0;
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Erro: " + e.getMessage());
+            return 1;
+        }
+
+        System.err.print(USAGE);
+        return 2;
+    }
+
+    /**
+     * Runs the HTTP API until the process is stopped.
+     */
+    private static int serve(Integer port) throws Exception {
+        HttpApiConfig config = HttpApiConfig.fromEnvironment();
+        if (port != null) config = config.withPort(port);
+
+        Backend backend = openBackend(true);
+        GameController controller = new GameController(backend.repository(), null);
+        GamesHttpServer server = new GamesHttpServer(config, controller, backend.repository());
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        server.start();
+
+        System.out.println("API HTTP disponível em http://" + config.host() + ":" + server.address().getPort());
+        Thread.currentThread().join();
+        return 0;
+    }
+
+    private static int importFile(Path file) throws Exception {
+        GameController controller = new GameController(createRepository(), null);
+        long start = System.nanoTime();
+
+        ImportSummary summary = new GameImporter(controller).importFile(file, progress ->
+                System.out.printf("... %d registros lidos, %d importados%n", progress.records(), progress.inserted()));
+
+        System.out.println(summary.describe());
+        System.out.printf("Tempo total: %.1f s%n", (System.nanoTime() - start) / 1e9);
+        return 0;
+    }
+
+    private static int exportFile(Path file) throws Exception {
+        GameController controller = new GameController(createRepository(), null);
+        long start = System.nanoTime();
+
+        long exported = new GameExporter(controller).exportTo(file);
+
+        System.out.printf("Jogos exportados: %d para %s%n", exported, file);
+        System.out.printf("Tempo total: %.1f s%n", (System.nanoTime() - start) / 1e9);
+        return 0;
+    }
+
+    /**
+     * Repository stack of the process, with the change feed it follows (null when it follows none).
+     */
+    private record Backend(IGamesRepository repository, PostgresChangeFeed changeFeed) {}
+}
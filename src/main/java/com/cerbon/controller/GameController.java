@@ -4,33 +4,69 @@ import com.cerbon.model.GameModel;
 import com.cerbon.model.type.Gender;
 import com.cerbon.model.type.Platform;
 import com.cerbon.model.type.Status;
+import com.cerbon.io.GameImporter;
+import com.cerbon.repository.BulkInsertResult;
+import com.cerbon.repository.BulkInsertResult.RowFailure;
+import com.cerbon.repository.ConcludedGamesReport;
+import com.cerbon.repository.DuplicateGameException;
+import com.cerbon.repository.GameChange;
+import com.cerbon.repository.GameChangeListener;
+import com.cerbon.repository.GameCriteria;
+import com.cerbon.repository.GamePageRequest;
 import com.cerbon.repository.IGamesRepository;
+import com.cerbon.repository.memory.GameCatalog;
 import com.cerbon.view.GamesLibraryMainView;
 import com.cerbon.view.GameFormDialog;
+import com.cerbon.view.GamesTableModel;
 
+import javax.swing.*;
+import java.nio.file.Path;
 import java.time.LocalDate;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Controller class that handles all business logic for game management operations.
  * Provides methods for adding, updating, deleting, and querying games with validation,
  * filtering capabilities, and reporting functionality for concluded games by platform and gender.
+ * Work triggered from the view runs on virtual threads and its results are applied on the EDT,
+ * so the window stays responsive however slow the database is. Registered on a change feed, it keeps
+ * the table in step with changes made by other clients. Adds and updates are safe for concurrent
+ * callers: writes of the same title and platform are serialized, so duplicates cannot slip past validation.
  */
-public class GameController {
+public class GameController implements GameChangeListener {
+    public static final String DUPLICATE_GAME_MESSAGE = "Já existe um jogo com este título e plataforma";
+    public static final String EMPTY_TITLE_MESSAGE = "Título não pode estar vazio";
+    public static final String MISSING_FIELDS_MESSAGE = "Gênero, plataforma e status são obrigatórios";
+    private static final int SEARCH_LIMIT = 200;
+    private static final int TITLE_LOCK_STRIPES = 256;
+
     private final IGamesRepository repository;
     private final GamesLibraryMainView view;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<String, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+    // Adds and updates hold the stripe of their title and platform from the duplicate check until the write is done,
+    // so two writes of the same game cannot both pass the check; writes of other games mostly take other stripes
+    private final ReentrantLock[] titleLocks = Stream.generate(ReentrantLock::new).limit(TITLE_LOCK_STRIPES).toArray(ReentrantLock[]::new);
+    // Title search currently shown in the table; only read and written on the EDT
+    private String currentSearch = "";
+    // Whether an import is running; only read and written on the EDT
+    private boolean importing = false;
     
     public GameController(IGamesRepository repository, GamesLibraryMainView view) {
         this.repository = repository;
         this.view = view;
         if (this.view != null) {
             attachViewListeners();
-            // Initial load of data into the view
-            this.view.setGamesData(getAllGames());
+            // Initial load of the first page into the view
+            showAllGames();
             this.view.setVisible(true);
         }
     }
@@ -39,15 +75,16 @@ public class GameController {
         view.onAdd(e -> {
             GameFormDialog.GameData data = view.promptAddGame();
             if (data != null) {
-                OperationResult<GameModel> result = addGame(
+                runAsync(null, () -> addGame(
                         data.title(), data.gender(), data.platform(), data.year(), data.status(), data.rate()
-                );
-                if (result.success()) {
-                    view.showInfoMessage(result.message());
-                    view.setGamesData(getAllGames());
-                } else {
-                    view.showErrorMessage(result.message());
-                }
+                ), result -> {
+                    if (result.success()) {
+                        view.showInfoMessage(result.message());
+                        view.applyGameChange(result.data());
+                    } else {
+                        view.showErrorMessage(result.message());
+                    }
+                });
             }
         });
 
@@ -59,15 +96,16 @@ public class GameController {
             }
             GameFormDialog.GameData data = view.promptEditGame(current);
             if (data != null) {
-                OperationResult<GameModel> result = updateGame(
+                runAsync(null, () -> updateGame(
                         current.id(), data.title(), data.gender(), data.platform(), data.year(), data.status(), data.rate()
-                );
-                if (result.success()) {
-                    view.showInfoMessage(result.message());
-                    view.setGamesData(getAllGames());
-                } else {
-                    view.showErrorMessage(result.message());
-                }
+                ), result -> {
+                    if (result.success()) {
+                        view.showInfoMessage(result.message());
+                        view.applyGameChange(result.data());
+                    } else {
+                        view.showErrorMessage(result.message());
+                    }
+                });
             }
         });
 
@@ -79,36 +117,160 @@ public class GameController {
             }
             boolean confirmed = view.confirmDeletion(current.title());
             if (confirmed) {
-                OperationResult<Void> result = deleteGame(current.id());
-                if (result.success()) {
-                    view.showInfoMessage(result.message());
-                    view.setGamesData(getAllGames());
-                } else {
-                    view.showErrorMessage(result.message());
-                }
+                runAsync(null, () -> deleteGame(current.id()), result -> {
+                    if (result.success()) {
+                        view.showInfoMessage(result.message());
+                        view.removeGame(current.id());
+                    } else {
+                        view.showErrorMessage(result.message());
+                    }
+                });
             }
         });
 
-        view.onReport(e -> {
-            Map<Platform, Long> platformData = getConcludedGamesByPlatform();
-            Map<Gender, Long> genderData = getConcludedGamesByGender();
-            view.showReport(platformData, genderData);
-        });
+        view.onReport(e -> runAsync("report", this::getConcludedGamesReport,
+                report -> view.showReport(report.byPlatform(), report.byGender())));
 
         view.onApplyFilters(e -> {
+            clearSearch();
             Gender selectedGender = view.getSelectedGenderFilter();
             Platform selectedPlatform = view.getSelectedPlatformFilter();
             Status selectedStatus = view.getSelectedStatusFilter();
-            List<GameModel> filtered = filterGames(selectedGender, selectedPlatform, selectedStatus);
-            view.setGamesData(filtered);
+            showGames(new GameCriteria(selectedGender, selectedPlatform, selectedStatus));
         });
 
         view.onClearFilters(e -> {
+            clearSearch();
             view.resetFilters();
-            view.setGamesData(getAllGames());
+            showAllGames();
+        });
+
+        view.onRefresh(e -> {
+            // "Atualizar" must show other clients' changes, so cached games are reloaded
+            repository.invalidateCaches();
+            showAllGames();
+        });
+
+        view.onSearch(e -> {
+            String text = view.getSearchText().trim();
+            if (text.equals(currentSearch)) return;
+
+            currentSearch = text;
+            if (text.isEmpty()) {
+                showGames(new GameCriteria(view.getSelectedGenderFilter(), view.getSelectedPlatformFilter(), view.getSelectedStatusFilter()));
+                return;
+            }
+            runAsync("search", () -> searchGamesByTitle(text), view::setGamesData);
         });
 
-        view.onRefresh(e -> view.setGamesData(getAllGames()));
+        view.onImport(e -> {
+            // Unlike reports and searches an import cannot be superseded: cancelling it would not stop it, so a
+            // second one would run alongside and one summary would be lost. One import runs at a time instead.
+            if (importing) {
+                view.showErrorMessage("Uma importação já está em andamento.");
+                return;
+            }
+            Path file = view.promptImportFile();
+            if (file == null) return;
+
+            importing = true;
+            view.setImportEnabled(false);
+            runAsync(null, () -> new GameImporter(this).importFile(file, null), summary -> {
+                view.showInfoMessage(summary.describe());
+                showAllGames();
+            }, () -> {
+                importing = false;
+                view.setImportEnabled(true);
+            });
+        });
+    }
+
+    @Override
+    public void onGameChanges(List<GameChange> changes) {
+        if (view == null) return;
+
+        SwingUtilities.invokeLater(() -> {
+            for (GameChange change : changes) {
+                switch (change.type()) {
+                    case INSERT, UPDATE -> view.refreshGame(change.game());
+                    case DELETE -> view.removeGame(change.id());
+                    case RESET -> {
+                        view.reloadGames();
+                        return;
+                    }
+                }
+            }
+        });
+    }
+
+    private void clearSearch() {
+        currentSearch = "";
+        view.clearSearch();
+    }
+
+    private void showAllGames() {
+        showGames(GameCriteria.ANY);
+    }
+
+    private void showGames(GameCriteria criteria) {
+        // A search still running would otherwise replace the list when it completes (cancelling only drops its result)
+        CompletableFuture<?> search = inFlight.remove("search");
+        if (search != null) search.cancel(false);
+        view.showGames(pageSource(criteria), criteria::matches);
+    }
+
+    private GamesTableModel.PageSource pageSource(GameCriteria criteria) {
+        return (sortKey, descending, after, limit) ->
+                supplyAsync(() -> getGamesPage(new GamePageRequest(criteria, sortKey, descending, after, limit)));
+    }
+
+    /**
+     * Runs {@code task} on a virtual thread while the view shows it is busy, and completes off the EDT.
+     */
+    private <T> CompletableFuture<T> supplyAsync(Callable<T> task) {
+        view.setBusy(true);
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+        future.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> view.setBusy(false)));
+        return future;
+    }
+
+    private <T> void runAsync(String key, Callable<T> task, Consumer<T> onSuccess) {
+        runAsync(key, task, onSuccess, null);
+    }
+
+    /**
+     * Runs {@code task} off the EDT and hands its result to {@code onSuccess} on the EDT, then runs {@code onDone}
+     * (when given) on the EDT whether it succeeded or not.
+     * A newer task with the same non-null key supersedes an unfinished one, whose result is then dropped; the
+     * superseded task itself keeps running to the end, so keys are only for read-only work such as reports and searches.
+     */
+    private <T> void runAsync(String key, Callable<T> task, Consumer<T> onSuccess, Runnable onDone) {
+        CompletableFuture<T> future = supplyAsync(task);
+        if (key != null) {
+            CompletableFuture<?> superseded = inFlight.put(key, future);
+            // cancel(false) only marks the future so its result is dropped below; it does not interrupt the task
+            if (superseded != null) superseded.cancel(false);
+        }
+
+        future.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            if (onDone != null) onDone.run();
+            if (key != null && !inFlight.remove(key, future)) return;
+            if (future.isCancelled()) return;
+
+            if (error == null) {
+                onSuccess.accept(result);
+            } else {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                System.err.println("Background operation failed: " + cause);
+                view.showErrorMessage("Erro inesperado: " + cause.getMessage());
+            }
+        }));
     }
 
     public ValidationResult validateGame(GameModel game) {
@@ -120,8 +282,32 @@ public class GameController {
     }
     
     private ValidationResult validateGame(GameModel game, boolean isUpdate) {
+        ValidationResult fields = validateFields(game);
+        if (!fields.valid())
+            return fields;
+
+        if (isDuplicate(game, isUpdate))
+            return new ValidationResult(false, DUPLICATE_GAME_MESSAGE);
+        
+        return new ValidationResult(true, "");
+    }
+
+    // Check for duplicate title + platform, ignoring the game being updated
+    private boolean isDuplicate(GameModel game, boolean isUpdate) {
+        return repository.existsByTitleAndPlatform(game.title().trim(), game.platform(), isUpdate ? game.id() : 0);
+    }
+
+    private ReentrantLock titleLock(GameModel game) {
+        int hash = GameCatalog.titleKey(game.title(), game.platform()).hashCode();
+        return titleLocks[Math.floorMod(hash ^ (hash >>> 16), TITLE_LOCK_STRIPES)];
+    }
+
+    public ValidationResult validateFields(GameModel game) {
         if (game.title() == null || game.title().trim().isEmpty())
-            return new ValidationResult(false, "Título não pode estar vazio");
+            return new ValidationResult(false, EMPTY_TITLE_MESSAGE);
+
+        if (game.gender() == null || game.platform() == null || game.status() == null)
+            return new ValidationResult(false, MISSING_FIELDS_MESSAGE);
 
 
         if (game.rate() < 0 || game.rate() > 10)
@@ -131,65 +317,97 @@ public class GameController {
         int currentYear = LocalDate.now().getYear();
         if (game.year() > currentYear)
             return new ValidationResult(false, "Ano de lançamento não pode ser futuro");
-        
-        // Check for duplicate title + platform (only for new games or when updating these fields)
-        if (!isUpdate || isDuplicateForUpdate(game)) {
-            List<GameModel> existingGames = repository.getAll();
-            boolean duplicate = existingGames.stream()
-                .anyMatch(existing -> 
-                    (!isUpdate || existing.id() != game.id()) &&
-                    existing.title().equalsIgnoreCase(game.title().trim()) &&
-                    existing.platform() == game.platform()
-                );
-            
-            if (duplicate)
-                return new ValidationResult(false, "Já existe um jogo com este título e plataforma");
-        }
-        
+
         return new ValidationResult(true, "");
     }
-    
-    private boolean isDuplicateForUpdate(GameModel game) {
-        Optional<GameModel> existingOpt = repository.getById(game.id());
-        if (existingOpt.isEmpty()) return true;
-        
-        GameModel existing = existingOpt.get();
-        return !existing.title().equals(game.title()) || existing.platform() != game.platform();
-    }
 
     public OperationResult<GameModel> addGame(String title, Gender gender, Platform platform, int year, Status status, int rate) {
         try {
             GameModel game = new GameModel(0, title.trim(), gender, platform, year, status, rate);
-            ValidationResult validation = validateGame(game);
-            
-            if (!validation.valid())
-                return new OperationResult<>(false, validation.message(), null);
+            ReentrantLock lock = titleLock(game);
+            lock.lock();
+            try {
+                ValidationResult validation = validateFields(game);
 
-            
-            boolean success = repository.add(game);
-            if (success)
-                return new OperationResult<>(true, "Jogo adicionado com sucesso", null);
-            else
-                return new OperationResult<>(false, "Erro ao adicionar jogo no banco de dados", null);
+                if (!validation.valid())
+                    return new OperationResult<>(Outcome.INVALID, validation.message(), null);
+                if (isDuplicate(game, false))
+                    return new OperationResult<>(Outcome.DUPLICATE, DUPLICATE_GAME_MESSAGE, null);
 
+                Optional<GameModel> added = repository.add(game);
+                if (added.isPresent())
+                    return new OperationResult<>(Outcome.SUCCESS, "Jogo adicionado com sucesso", added.get());
+                else
+                    return new OperationResult<>(Outcome.ERROR, "Erro ao adicionar jogo no banco de dados", null);
+            } finally {
+                lock.unlock();
+            }
+
+        } catch (DuplicateGameException e) {
+            return new OperationResult<>(Outcome.DUPLICATE, DUPLICATE_GAME_MESSAGE, null);
         } catch (Exception e) {
-            return new OperationResult<>(false, "Erro inesperado: " + e.getMessage(), null);
+            return new OperationResult<>(Outcome.ERROR, "Erro inesperado: " + e.getMessage(), null);
         }
     }
     
+    /**
+     * Validates the fields of every game and stores the valid ones in one bulk write.
+     * Failure indexes refer to positions in the given list; duplicates are detected by the repository.
+     * The title locks are not taken, as a large import would hold most stripes for its whole write, so against
+     * concurrent adds and updates the store's own uniqueness check, the unique index in PostgreSQL, is the only guard.
+     */
+    public BulkInsertResult importGames(List<GameModel> games) {
+        List<RowFailure> failures = new ArrayList<>();
+        List<GameModel> valid = new ArrayList<>(games.size());
+        int[] positions = new int[games.size()];
+
+        for (int i = 0; i < games.size(); i++) {
+            GameModel game = games.get(i);
+            ValidationResult validation = validateFields(game);
+            if (!validation.valid()) {
+                failures.add(new RowFailure(i, game, BulkInsertResult.Reason.INVALID, validation.message()));
+                continue;
+            }
+            positions[valid.size()] = i;
+            valid.add(game);
+        }
+
+        if (valid.isEmpty())
+            return new BulkInsertResult(0, failures);
+
+        BulkInsertResult stored = repository.addAll(valid);
+        for (RowFailure failure : stored.failures())
+            failures.add(new RowFailure(positions[failure.index()], failure.game(), failure.reason(), failure.message()));
+
+        failures.sort(Comparator.comparingInt(RowFailure::index));
+        return new BulkInsertResult(stored.inserted(), failures);
+    }
+    
     public OperationResult<GameModel> updateGame(int id, String title, Gender gender, Platform platform, int year, Status status, int rate) {
         try {
             GameModel game = new GameModel(id, title.trim(), gender, platform, year, status, rate);
-            ValidationResult validation = validateGameForUpdate(game);
-            
-            if (!validation.valid()) {
-                return new OperationResult<>(false, validation.message(), null);
+            ReentrantLock lock = titleLock(game);
+            lock.lock();
+            try {
+                ValidationResult validation = validateFields(game);
+
+                if (!validation.valid())
+                    return new OperationResult<>(Outcome.INVALID, validation.message(), null);
+                if (isDuplicate(game, true))
+                    return new OperationResult<>(Outcome.DUPLICATE, DUPLICATE_GAME_MESSAGE, null);
+
+                Optional<GameModel> updated = repository.update(game);
+                if (updated.isPresent())
+                    return new OperationResult<>(Outcome.SUCCESS, "Jogo atualizado com sucesso", updated.get());
+                else
+                    return new OperationResult<>(Outcome.NOT_FOUND, "Erro ao atualizar jogo - jogo não encontrado", null);
+            } finally {
+                lock.unlock();
             }
-            
-            GameModel updated = repository.update(game);
-            return new OperationResult<>(true, "Jogo atualizado com sucesso", updated);
+        } catch (DuplicateGameException e) {
+            return new OperationResult<>(Outcome.DUPLICATE, DUPLICATE_GAME_MESSAGE, null);
         } catch (Exception e) {
-            return new OperationResult<>(false, "Erro inesperado: " + e.getMessage(), null);
+            return new OperationResult<>(Outcome.ERROR, "Erro inesperado: " + e.getMessage(), null);
         }
     }
     
@@ -197,12 +415,12 @@ public class GameController {
         try {
             boolean success = repository.delete(id);
             if (success)
-                return new OperationResult<>(true, "Jogo removido com sucesso", null);
+                return new OperationResult<>(Outcome.SUCCESS, "Jogo removido com sucesso", null);
             else
-                return new OperationResult<>(false, "Erro ao remover jogo - jogo não encontrado", null);
+                return new OperationResult<>(Outcome.NOT_FOUND, "Erro ao remover jogo - jogo não encontrado", null);
 
         } catch (Exception e) {
-            return new OperationResult<>(false, "Erro inesperado: " + e.getMessage(), null);
+            return new OperationResult<>(Outcome.ERROR, "Erro inesperado: " + e.getMessage(), null);
         }
     }
 
@@ -210,50 +428,43 @@ public class GameController {
         return repository.getAll();
     }
     
+    public List<GameModel> getGamesPage(GamePageRequest request) {
+        return repository.getPage(request);
+    }
+
+    public long streamAllGames(Consumer<? super GameModel> consumer) {
+        return repository.streamAll(consumer);
+    }
+    
     public List<GameModel> filterGames(Gender gender, Platform platform, Status status) {
-        List<GameModel> allGames = repository.getAll();
-        
-        return allGames.stream()
-            .filter(game -> gender == null || game.gender() == gender)
-            .filter(game -> platform == null || game.platform() == platform)
-            .filter(game -> status == null || game.status() == status)
-            .collect(Collectors.toList());
+        return repository.find(new GameCriteria(gender, platform, status));
+    }
+
+    public List<GameModel> searchGamesByTitle(String fragment) {
+        return repository.searchByTitle(fragment, SEARCH_LIMIT);
+    }
+
+    public ConcludedGamesReport getConcludedGamesReport() {
+        return repository.getConcludedReport();
     }
 
     public Map<Platform, Long> getConcludedGamesByPlatform() {
-        List<GameModel> concludedGames = repository.getAll().stream()
-            .filter(game -> game.status() == Status.CONCLUDED)
-            .toList();
-            
-        Map<Platform, Long> report = new HashMap<>();
-        for (Platform platform : Platform.values()) {
-            long count = concludedGames.stream()
-                .filter(game -> game.platform() == platform)
-                .count();
-            if (count > 0)
-                report.put(platform, count);
-        }
-        
-        return report;
+        return getConcludedGamesReport().byPlatform();
     }
     
     public Map<Gender, Long> getConcludedGamesByGender() {
-        List<GameModel> concludedGames = repository.getAll().stream()
-            .filter(game -> game.status() == Status.CONCLUDED)
-            .toList();
-            
-        Map<Gender, Long> report = new HashMap<>();
-        for (Gender gender : Gender.values()) {
-            long count = concludedGames.stream()
-                .filter(game -> game.gender() == gender)
-                .count();
-            if (count > 0)
-                report.put(gender, count);
-        }
-        
-        return report;
+        return getConcludedGamesReport().byGender();
     }
 
     public record ValidationResult(boolean valid, String message) {}
-    public record OperationResult<T>(boolean success, String message, T data) {}
+    public record OperationResult<T>(Outcome outcome, String message, T data) {
+        public boolean success() {
+            return outcome == Outcome.SUCCESS;
+        }
+    }
+
+    /**
+     * What became of a write: callers such as the HTTP API tell failures apart by it rather than by their message.
+     */
+    public enum Outcome { SUCCESS, INVALID, DUPLICATE, NOT_FOUND, ERROR }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.cerbon.http;
+
+/**
+ * Request failure carrying the HTTP status and the message returned to the client.
+ */
+class ApiException extends RuntimeException {
+    private final int status;
+
+    ApiException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    int status() {
+        return status;
+    }
+}
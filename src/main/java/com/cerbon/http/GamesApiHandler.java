@@ -0,0 +1,359 @@
+package com.cerbon.http;
+
+import com.cerbon.controller.GameController;
+import com.cerbon.controller.GameController.OperationResult;
+import com.cerbon.controller.GameController.ValidationResult;
+import com.cerbon.io.FlatJson;
+import com.cerbon.model.GameModel;
+import com.cerbon.model.type.Gender;
+import com.cerbon.model.type.Platform;
+import com.cerbon.model.type.Status;
+import com.cerbon.repository.ConcludedGamesReport;
+import com.cerbon.repository.GameCriteria;
+import com.cerbon.repository.GamePageRequest;
+import com.cerbon.repository.GameSortKey;
+import com.cerbon.repository.IGamesRepository;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Routes the API requests to the controller and repository and writes their JSON responses.
+ * <ul>
+ *   <li>{@code GET /games} – one page of games, optionally filtered by {@code gender}, {@code platform} and
+ *       {@code status}, ordered by {@code sort} ({@code desc=true} to reverse); {@code next} is the cursor for
+ *       the following page, passed back as {@code after}. With {@code q} it searches titles instead.</li>
+ *   <li>{@code POST /games}, {@code GET/PUT/DELETE /games/{id}} – single games.</li>
+ *   <li>{@code GET /reports/concluded} – concluded games by platform and by genre.</li>
+ * </ul>
+ * Pages are written to the response as they are serialized, without building the whole body in memory.
+ */
+class GamesApiHandler implements HttpHandler {
+    static final String ROOT_PATH = "/";
+    static final String GAMES_PATH = "/games";
+    static final String REPORT_PATH = "/reports/concluded";
+
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final int RESPONSE_BUFFER_SIZE = 16 * 1024;
+    private static final String JSON = "application/json; charset=utf-8";
+
+    private final HttpApiConfig config;
+    private final GameController controller;
+    private final IGamesRepository repository;
+
+    GamesApiHandler(HttpApiConfig config, GameController controller, IGamesRepository repository) {
+        this.config = config;
+        this.controller = controller;
+        this.repository = repository;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try {
+            route(exchange);
+        } catch (ApiException e) {
+            sendError(exchange, e.status(), e.getMessage());
+        } catch (IOException e) {
+            // The client went away while the response was being written
+            System.err.println("HTTP response aborted: " + e.getMessage());
+        } catch (RuntimeException e) {
+            System.err.println("Error handling " + exchange.getRequestMethod() + " " + exchange.getRequestURI() + ": " + e);
+            sendError(exchange, 500, "Erro interno: " + e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String method = exchange.getRequestMethod();
+
+        if (path.equals(REPORT_PATH)) {
+            requireMethod(exchange, "GET");
+            sendReport(exchange);
+        } else if (path.equals(GAMES_PATH) || path.equals(GAMES_PATH + "/")) {
+            switch (method) {
+                case "GET" -> listGames(exchange);
+                case "POST" -> addGame(exchange);
+                default -> throw methodNotAllowed(exchange, "GET, POST");
+            }
+        } else if (path.startsWith(GAMES_PATH + "/")) {
+            int id = parseId(path.substring(GAMES_PATH.length() + 1));
+            switch (method) {
+                case "GET" -> getGame(exchange, id);
+                case "PUT" -> updateGame(exchange, id);
+                case "DELETE" -> deleteGame(exchange, id);
+                default -> throw methodNotAllowed(exchange, "GET, PUT, DELETE");
+            }
+        } else {
+            throw new ApiException(404, "Recurso não encontrado: " + path);
+        }
+    }
+
+    private void listGames(HttpExchange exchange) throws IOException {
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        int limit = query.containsKey("limit") ? parseInt(query.get("limit"), "limit") : config.defaultPageSize();
+        if (limit < 1 || limit > config.maxPageSize())
+            throw new ApiException(400, "limit deve estar entre 1 e " + config.maxPageSize());
+
+        String fragment = query.get("q");
+        if (fragment != null) {
+            sendGames(exchange, repository.searchByTitle(fragment, limit), null);
+            return;
+        }
+
+        GameCriteria criteria = new GameCriteria(
+                parseEnum(query.get("gender"), "gender", Gender::fromString),
+                parseEnum(query.get("platform"), "platform", Platform::fromString),
+                parseEnum(query.get("status"), "status", Status::fromString));
+        GameSortKey sortKey = parseEnum(query.get("sort"), "sort", GameSortKey::valueOf);
+        if (sortKey == null) sortKey = GameSortKey.ID;
+        boolean descending = Boolean.parseBoolean(query.get("desc"));
+        GameModel after = query.containsKey("after") ? decodeCursor(query.get("after"), sortKey) : null;
+
+        List<GameModel> page = controller.getGamesPage(new GamePageRequest(criteria, sortKey, descending, after, limit));
+        String next = page.size() == limit ? encodeCursor(sortKey, page.get(page.size() - 1)) : null;
+        sendGames(exchange, page, next);
+    }
+
+    private void getGame(HttpExchange exchange, int id) throws IOException {
+        GameModel game = repository.getById(id).orElseThrow(() -> notFound(id));
+        sendJson(exchange, 200, FlatJson.appendGame(new StringBuilder(128), game));
+    }
+
+    private void addGame(HttpExchange exchange) throws IOException {
+        GameModel game = readGame(exchange, 0);
+        OperationResult<GameModel> result = controller.addGame(
+                game.title(), game.gender(), game.platform(), game.year(), game.status(), game.rate());
+        if (!result.success())
+            throw failure(result, 0);
+
+        exchange.getResponseHeaders().set("Location", GAMES_PATH + "/" + result.data().id());
+        sendJson(exchange, 201, FlatJson.appendGame(new StringBuilder(128), result.data()));
+    }
+
+    private void updateGame(HttpExchange exchange, int id) throws IOException {
+        GameModel game = readGame(exchange, id);
+        OperationResult<GameModel> result = controller.updateGame(
+                id, game.title(), game.gender(), game.platform(), game.year(), game.status(), game.rate());
+        if (!result.success())
+            throw failure(result, id);
+
+        sendJson(exchange, 200, FlatJson.appendGame(new StringBuilder(128), result.data()));
+    }
+
+    private void deleteGame(HttpExchange exchange, int id) throws IOException {
+        OperationResult<Void> result = controller.deleteGame(id);
+        if (!result.success())
+            throw failure(result, id);
+
+        exchange.sendResponseHeaders(204, -1);
+    }
+
+    private void sendReport(HttpExchange exchange) throws IOException {
+        ConcludedGamesReport report = controller.getConcludedGamesReport();
+        StringBuilder json = new StringBuilder(512).append("{\"byPlatform\":{");
+        appendCounts(json, report.byPlatform());
+        json.append("},\"byGender\":{");
+        appendCounts(json, report.byGender());
+        sendJson(exchange, 200, json.append("}}"));
+    }
+
+    /**
+     * Maps a failed write to its status by the outcome the controller reported.
+     */
+    private ApiException failure(OperationResult<?> result, int id) {
+        return switch (result.outcome()) {
+            case INVALID -> new ApiException(400, result.message());
+            case DUPLICATE -> new ApiException(409, result.message());
+            case NOT_FOUND -> notFound(id);
+            case SUCCESS, ERROR -> new ApiException(500, result.message());
+        };
+    }
+
+    private GameModel readGame(HttpExchange exchange, int id) throws IOException {
+        byte[] body = exchange.getRequestBody().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES)
+            throw new ApiException(413, "Corpo da requisição maior que " + MAX_BODY_BYTES + " bytes");
+
+        Map<String, String> values;
+        try {
+            values = FlatJson.parseObject(new String(body, StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(400, "JSON inválido: " + e.getMessage());
+        }
+
+        GameModel game = new GameModel(id,
+                required(values, "title").trim(),
+                parseEnum(required(values, "gender"), "gender", Gender::fromString),
+                parseEnum(required(values, "platform"), "platform", Platform::fromString),
+                parseInt(required(values, "year"), "year"),
+                parseEnum(required(values, "status"), "status", Status::fromString),
+                parseInt(required(values, "rate"), "rate"));
+
+        ValidationResult validation = controller.validateFields(game);
+        if (!validation.valid())
+            throw new ApiException(400, validation.message());
+        return game;
+    }
+
+    private void sendGames(HttpExchange exchange, List<GameModel> games, String next) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(200, 0);
+
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8),
+                RESPONSE_BUFFER_SIZE)) {
+            StringBuilder json = new StringBuilder(256);
+            out.write("{\"games\":[");
+            for (int i = 0; i < games.size(); i++) {
+                json.setLength(0);
+                if (i > 0) json.append(',');
+                out.append(FlatJson.appendGame(json, games.get(i)));
+            }
+            json.setLength(0);
+            out.append(FlatJson.appendQuoted(json.append("],\"next\":"), next).append('}'));
+        }
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, CharSequence json) throws IOException {
+        byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) {
+        try {
+            sendJson(exchange, status, FlatJson.appendQuoted(new StringBuilder("{\"error\":"), message).append('}'));
+        } catch (IOException e) {
+            System.err.println("Error sending HTTP error response: " + e.getMessage());
+        }
+    }
+
+    private static <E extends Enum<E>> void appendCounts(StringBuilder json, Map<E, Long> counts) {
+        boolean first = true;
+        for (Map.Entry<E, Long> entry : counts.entrySet()) {
+            if (!first) json.append(',');
+            json.append('"').append(entry.getKey().name()).append("\":").append(entry.getValue());
+            first = false;
+        }
+    }
+
+    /**
+     * Opaque cursor holding the sort key, id and sort value of the last game of a page,
+     * which is all keyset pagination needs to resume after it.
+     */
+    private static String encodeCursor(GameSortKey sortKey, GameModel last) {
+        String value = switch (sortKey) {
+            case ID -> "";
+            case TITLE -> last.title();
+            case GENDER -> last.gender().name();
+            case PLATFORM -> last.platform().name();
+            case YEAR -> String.valueOf(last.year());
+            case STATUS -> last.status().name();
+            case RATE -> String.valueOf(last.rate());
+        };
+        String cursor = sortKey.name() + '\n' + last.id() + '\n' + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static GameModel decodeCursor(String cursor, GameSortKey sortKey) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\n", 3);
+        } catch (IllegalArgumentException e) {
+            parts = new String[0];
+        }
+        if (parts.length != 3 || !parts[0].equals(sortKey.name()))
+            throw new ApiException(400, "Cursor inválido para esta ordenação: " + cursor);
+
+        // Only the sort value and the id are compared, so the other properties are placeholders
+        int id = parseInt(parts[1], "after");
+        String value = parts[2];
+        return new GameModel(id,
+                sortKey == GameSortKey.TITLE ? value : "",
+                sortKey == GameSortKey.GENDER ? Gender.fromString(value) : Gender.OTHER,
+                sortKey == GameSortKey.PLATFORM ? Platform.fromString(value) : Platform.OTHER,
+                sortKey == GameSortKey.YEAR ? parseInt(value, "after") : 0,
+                sortKey == GameSortKey.STATUS ? Status.fromString(value) : Status.WISHLIST,
+                sortKey == GameSortKey.RATE ? parseInt(value, "after") : 0);
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) return query;
+
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            String key = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            query.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    /**
+     * Parses an enum by name ignoring case, rejecting values the lenient fromString parsers would map to a fallback.
+     */
+    private static <E extends Enum<E>> E parseEnum(String value, String field, Function<String, E> parser) {
+        if (value == null || value.isBlank()) return null;
+
+        String name = value.trim().toUpperCase(Locale.ROOT);
+        try {
+            E constant = parser.apply(name);
+            if (constant.name().equals(name)) return constant;
+        } catch (IllegalArgumentException e) {
+            // Reported below like any other unknown name
+        }
+        throw new ApiException(400, "Valor inválido para " + field + ": " + value);
+    }
+
+    private static int parseInt(String value, String field) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "Número inválido para " + field + ": " + value);
+        }
+    }
+
+    private static int parseId(String value) {
+        int id = parseInt(value, "id");
+        if (id < 1) throw new ApiException(400, "Id inválido: " + value);
+        return id;
+    }
+
+    private static String required(Map<String, String> values, String field) {
+        String value = values.get(field);
+        if (value == null) throw new ApiException(400, "Campo obrigatório ausente: " + field);
+        return value;
+    }
+
+    private static void requireMethod(HttpExchange exchange, String method) {
+        if (!exchange.getRequestMethod().equals(method))
+            throw methodNotAllowed(exchange, method);
+    }
+
+    private static ApiException methodNotAllowed(HttpExchange exchange, String allowed) {
+        exchange.getResponseHeaders().set("Allow", allowed);
+        return new ApiException(405, "Método não permitido: " + exchange.getRequestMethod());
+    }
+
+    private static ApiException notFound(int id) {
+        return new ApiException(404, "Jogo não encontrado: " + id);
+    }
+}
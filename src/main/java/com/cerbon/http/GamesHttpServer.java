@@ -0,0 +1,46 @@
+package com.cerbon.http;
+
+import com.cerbon.controller.GameController;
+import com.cerbon.repository.IGamesRepository;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Headless JSON API over the games library, served by the JDK HTTP server.
+ * Every request runs on its own virtual thread, so requests blocked on the database
+ * hold no platform thread and thousands of them can be in flight at once.
+ */
+public class GamesHttpServer implements AutoCloseable {
+    private static final int STOP_DELAY_SECONDS = 2;
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public GamesHttpServer(HttpApiConfig config, GameController controller, IGamesRepository repository) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(config.host(), config.port()), config.backlog());
+        // One context for every path, so unknown paths also get a JSON error
+        server.createContext(GamesApiHandler.ROOT_PATH, new GamesApiHandler(config, controller, repository));
+        server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public InetSocketAddress address() {
+        return server.getAddress();
+    }
+
+    /**
+     * Stops accepting connections and gives requests in progress a short delay to finish.
+     */
+    @Override
+    public void close() {
+        server.stop(STOP_DELAY_SECONDS);
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,54 @@
+package com.cerbon.http;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Immutable configuration for the headless HTTP API.
+ * Values are resolved from system properties ({@code gameslibrary.http.*}) or environment
+ * variables ({@code GAMESLIBRARY_HTTP_*}), falling back to the defaults.
+ * The API writes without authentication, so it only listens on other than a loopback address
+ * when {@code allowRemote} is set as well.
+ */
+public record HttpApiConfig(String host, int port, int backlog, int defaultPageSize, int maxPageSize, boolean allowRemote) {
+    public HttpApiConfig {
+        if (!allowRemote && !isLoopback(host))
+            throw new IllegalArgumentException("HTTP host " + host + " is reachable from other machines and the API has no "
+                    + "authentication; set GAMESLIBRARY_HTTP_ALLOW_REMOTE=true to listen on it anyway");
+        if (port < 0 || port > 65535)
+            throw new IllegalArgumentException("Invalid HTTP port: " + port);
+        if (defaultPageSize < 1 || maxPageSize < defaultPageSize)
+            throw new IllegalArgumentException("Invalid page sizes: default=" + defaultPageSize + ", max=" + maxPageSize);
+    }
+
+    public static HttpApiConfig fromEnvironment() {
+        return new HttpApiConfig(
+                setting("host", "127.0.0.1"),
+                Integer.parseInt(setting("port", "8080")),
+                Integer.parseInt(setting("backlog", "4096")),
+                Integer.parseInt(setting("default-page-size", "100")),
+                Integer.parseInt(setting("max-page-size", "1000")),
+                Boolean.parseBoolean(setting("allow-remote", "false"))
+        );
+    }
+
+    public HttpApiConfig withPort(int port) {
+        return new HttpApiConfig(host, port, backlog, defaultPageSize, maxPageSize, allowRemote);
+    }
+
+    private static boolean isLoopback(String host) {
+        try {
+            return InetAddress.getByName(host).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException("Unknown HTTP host: " + host, e);
+        }
+    }
+
+    private static String setting(String key, String defaultValue) {
+        String value = System.getProperty("gameslibrary.http." + key);
+        if (value == null || value.isBlank())
+            value = System.getenv("GAMESLIBRARY_HTTP_" + key.toUpperCase().replace('-', '_'));
+
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+}
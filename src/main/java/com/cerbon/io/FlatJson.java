@@ -0,0 +1,167 @@
+package com.cerbon.io;
+
+import com.cerbon.model.GameModel;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Minimal JSON support for the flat objects used by the import, export and HTTP formats.
+ * Parses a single object whose values are strings, numbers, booleans or null into a map of
+ * raw string values, and escapes strings for output. Nested objects and arrays are rejected.
+ */
+public final class FlatJson {
+    private FlatJson() {}
+
+    public static Map<String, String> parseObject(String text) {
+        Parser parser = new Parser(text);
+        Map<String, String> values = parser.object();
+        parser.skipWhitespace();
+        if (!parser.atEnd())
+            throw parser.error("Unexpected content after object");
+        return values;
+    }
+
+    public static StringBuilder appendQuoted(StringBuilder out, String value) {
+        if (value == null) return out.append("null");
+
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) out.append(String.format("\\u%04x", (int) c));
+                    else out.append(c);
+                }
+            }
+        }
+        return out.append('"');
+    }
+
+    /**
+     * Appends a game as a JSON object with its enums by name, as read back by the importer.
+     */
+    public static StringBuilder appendGame(StringBuilder out, GameModel game) {
+        out.append("{\"id\":").append(game.id()).append(",\"title\":");
+        appendQuoted(out, game.title());
+        return out.append(",\"gender\":\"").append(game.gender().name())
+                .append("\",\"platform\":\"").append(game.platform().name())
+                .append("\",\"year\":").append(game.year())
+                .append(",\"status\":\"").append(game.status().name())
+                .append("\",\"rate\":").append(game.rate())
+                .append('}');
+    }
+
+    private static final class Parser {
+        private final String text;
+        private int position = 0;
+
+        private Parser(String text) {
+            this.text = text;
+        }
+
+        private Map<String, String> object() {
+            skipWhitespace();
+            expect('{');
+            Map<String, String> values = new LinkedHashMap<>();
+
+            skipWhitespace();
+            if (peek() == '}') {
+                position++;
+                return values;
+            }
+
+            while (true) {
+                skipWhitespace();
+                String key = string();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                values.put(key, value());
+                skipWhitespace();
+
+                char next = next();
+                if (next == '}') return values;
+                if (next != ',') throw error("Expected ',' or '}'");
+            }
+        }
+
+        private String value() {
+            char c = peek();
+            if (c == '"') return string();
+            if (c == '{' || c == '[') throw error("Nested values are not supported");
+
+            int start = position;
+            while (!atEnd() && ",}] \t\r\n".indexOf(peek()) < 0)
+                position++;
+
+            String literal = text.substring(start, position);
+            if (literal.isEmpty()) throw error("Expected a value");
+            return literal.equals("null") ? null : literal;
+        }
+
+        private String string() {
+            expect('"');
+            StringBuilder out = new StringBuilder();
+
+            while (true) {
+                char c = next();
+                if (c == '"') return out.toString();
+                if (c != '\\') {
+                    out.append(c);
+                    continue;
+                }
+
+                char escaped = next();
+                switch (escaped) {
+                    case '"', '\\', '/' -> out.append(escaped);
+                    case 'b' -> out.append('\b');
+                    case 'f' -> out.append('\f');
+                    case 'n' -> out.append('\n');
+                    case 'r' -> out.append('\r');
+                    case 't' -> out.append('\t');
+                    case 'u' -> {
+                        if (position + 4 > text.length()) throw error("Truncated unicode escape");
+                        out.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                        position += 4;
+                    }
+                    default -> throw error("Invalid escape '\\" + escaped + "'");
+                }
+            }
+        }
+
+        private void skipWhitespace() {
+            while (!atEnd() && Character.isWhitespace(peek()))
+                position++;
+        }
+
+        private void expect(char expected) {
+            if (next() != expected)
+                throw error("Expected '" + expected + "'");
+        }
+
+        private char peek() {
+            if (atEnd()) throw error("Unexpected end of input");
+            return text.charAt(position);
+        }
+
+        private char next() {
+            char c = peek();
+            position++;
+            return c;
+        }
+
+        private boolean atEnd() {
+            return position >= text.length();
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at position " + position);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.cerbon.io;
+
+import com.cerbon.controller.GameController;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Exports the whole library to a CSV or JSON-lines file (optionally gzip-compressed).
+ * Games are streamed from the repository cursor straight into the file, so the heap
+ * use does not depend on the number of games. The file is written under a temporary name
+ * and only takes its final name once every game is in it, so a failed export never leaves
+ * a truncated file that looks complete.
+ */
+public class GameExporter {
+    private final GameController controller;
+
+    public GameExporter(GameController controller) {
+        this.controller = controller;
+    }
+
+    public long exportTo(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        // Ends with the target's name so the writer picks the same format and compression
+        Path partial = Files.createTempFile(directory, ".export-", "-" + file.getFileName());
+        boolean complete = false;
+
+        try {
+            long written;
+            try (GameRecordWriter writer = new GameRecordWriter(partial)) {
+                controller.streamAllGames(game -> {
+                    try {
+                        writer.write(game);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                written = writer.written();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            complete = true;
+            return written;
+        } finally {
+            if (!complete) Files.deleteIfExists(partial);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.cerbon.io;
+
+import com.cerbon.controller.GameController;
+import com.cerbon.io.GameRecordReader.ParsedRecord;
+import com.cerbon.model.GameModel;
+import com.cerbon.repository.BulkInsertResult;
+import com.cerbon.repository.BulkInsertResult.RowFailure;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Streaming import pipeline that loads a CSV or JSON-lines file into the library.
+ * A parser thread reads and normalizes records into a bounded queue while the calling thread
+ * validates them through the GameController and writes them in batches, so parsing overlaps
+ * the database writes and memory use does not depend on the file size.
+ */
+public class GameImporter {
+    private static final int DEFAULT_BATCH_SIZE = 5_000;
+    private static final int DEFAULT_QUEUE_CAPACITY = 20_000;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final ParsedRecord END_OF_INPUT = new ParsedRecord(-1, null, null);
+
+    private final GameController controller;
+    private final int batchSize;
+    private final int queueCapacity;
+
+    public GameImporter(GameController controller) {
+        this(controller, DEFAULT_BATCH_SIZE, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public GameImporter(GameController controller, int batchSize, int queueCapacity) {
+        this.controller = controller;
+        this.batchSize = batchSize;
+        this.queueCapacity = queueCapacity;
+    }
+
+    public ImportSummary importFile(Path file, Consumer<ImportSummary> progress) throws IOException {
+        try (GameRecordReader reader = new GameRecordReader(file)) {
+            return importFrom(reader, progress);
+        }
+    }
+
+    public ImportSummary importFrom(GameRecordReader reader, Consumer<ImportSummary> progress) throws IOException {
+        BlockingQueue<ParsedRecord> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicReference<IOException> parseFailure = new AtomicReference<>();
+
+        Thread parser = new Thread(() -> {
+            try {
+                ParsedRecord record;
+                while ((record = reader.next()) != null)
+                    queue.put(record);
+            } catch (IOException e) {
+                parseFailure.set(e);
+            } catch (RuntimeException e) {
+                parseFailure.set(new IOException("Erro ao ler o arquivo: " + e.getMessage(), e));
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            try {
+                queue.put(END_OF_INPUT);
+            } catch (InterruptedException ignored) {
+                // The writer stopped early and no longer drains the queue
+            }
+        }, "gameslibrary-import-parser");
+        parser.setDaemon(true);
+        parser.start();
+
+        Tally tally = new Tally();
+        List<GameModel> batch = new ArrayList<>(batchSize);
+        List<Long> batchLines = new ArrayList<>(batchSize);
+
+        try {
+            while (true) {
+                ParsedRecord record = queue.take();
+                if (record == END_OF_INPUT) break;
+
+                tally.records++;
+                if (!record.valid()) {
+                    tally.invalid++;
+                    tally.error(record.line(), record.error());
+                    continue;
+                }
+
+                batch.add(record.game());
+                batchLines.add(record.line());
+                if (batch.size() == batchSize) {
+                    write(batch, batchLines, tally);
+                    if (progress != null) progress.accept(tally.summary());
+                }
+            }
+
+            if (parseFailure.get() != null)
+                throw parseFailure.get();
+
+            write(batch, batchLines, tally);
+            return tally.summary();
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Importação interrompida", e);
+        } finally {
+            parser.interrupt();
+        }
+    }
+
+    private void write(List<GameModel> batch, List<Long> batchLines, Tally tally) {
+        if (batch.isEmpty()) return;
+
+        BulkInsertResult result = controller.importGames(batch);
+        tally.inserted += result.inserted();
+        for (RowFailure failure : result.failures()) {
+            switch (failure.reason()) {
+                case DUPLICATE -> tally.duplicates++;
+                case INVALID -> tally.invalid++;
+                case STORAGE -> tally.failed++;
+            }
+            tally.error(batchLines.get(failure.index()), failure.message() + " (" + failure.game().title() + ")");
+        }
+
+        batch.clear();
+        batchLines.clear();
+    }
+
+    private static final class Tally {
+        private long records;
+        private long inserted;
+        private long duplicates;
+        private long invalid;
+        private long failed;
+        private final List<String> errors = new ArrayList<>();
+
+        private void error(long line, String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS)
+                errors.add("linha " + line + ": " + message);
+        }
+
+        private ImportSummary summary() {
+            return new ImportSummary(records, inserted, duplicates, invalid, failed, errors);
+        }
+    }
+}
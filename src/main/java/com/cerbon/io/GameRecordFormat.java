@@ -0,0 +1,32 @@
+package com.cerbon.io;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Enumeration of the file formats supported for importing and exporting games.
+ * The format is picked from the file extension ({@code .csv} or {@code .jsonl}),
+ * optionally followed by {@code .gz} for gzip-compressed files.
+ */
+public enum GameRecordFormat {
+    CSV,
+    JSON_LINES;
+
+    public static GameRecordFormat fromPath(Path path) {
+        String name = baseName(path);
+        if (name.endsWith(".csv")) return CSV;
+        if (name.endsWith(".jsonl") || name.endsWith(".ndjson") || name.endsWith(".json")) return JSON_LINES;
+
+        throw new IllegalArgumentException("Formato de arquivo não suportado: " + path.getFileName()
+                + " (use .csv, .jsonl ou a versão .gz)");
+    }
+
+    public static boolean isCompressed(Path path) {
+        return path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".gz");
+    }
+
+    private static String baseName(Path path) {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".gz") ? name.substring(0, name.length() - 3) : name;
+    }
+}
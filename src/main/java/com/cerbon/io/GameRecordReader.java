@@ -0,0 +1,178 @@
+package com.cerbon.io;
+
+import com.cerbon.model.GameModel;
+import com.cerbon.model.type.Gender;
+import com.cerbon.model.type.Platform;
+import com.cerbon.model.type.Status;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Sequential reader that turns a CSV or JSON-lines file into games, one record at a time.
+ * CSV files need a header row naming the columns (title, gender, platform, year, status, rate;
+ * an id column is ignored). Enum values are normalized through the fromString parsers and
+ * malformed records are returned with an error instead of stopping the read.
+ */
+public class GameRecordReader implements AutoCloseable {
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private final BufferedReader reader;
+    private final GameRecordFormat format;
+    private Map<String, Integer> csvColumns;
+    private long lineNumber = 0;
+
+    public GameRecordReader(Path file) throws IOException {
+        this(openStream(file), GameRecordFormat.fromPath(file));
+    }
+
+    public GameRecordReader(InputStream input, GameRecordFormat format) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.format = format;
+    }
+
+    /**
+     * Returns the next record, or null once the input is exhausted.
+     */
+    public ParsedRecord next() throws IOException {
+        while (true) {
+            String line = reader.readLine();
+            if (line == null) return null;
+            lineNumber++;
+
+            if (lineNumber == 1 && !line.isEmpty() && line.charAt(0) == '\uFEFF')
+                line = line.substring(1);
+            if (line.isBlank()) continue;
+
+            long recordLine = lineNumber;
+            try {
+                if (format == GameRecordFormat.JSON_LINES)
+                    return new ParsedRecord(recordLine, fromValues(FlatJson.parseObject(line)), null);
+
+                List<String> fields = readCsvFields(line);
+                if (csvColumns == null) {
+                    csvColumns = csvHeader(fields);
+                    continue;
+                }
+                return new ParsedRecord(recordLine, fromCsv(fields), null);
+
+            } catch (IllegalArgumentException e) {
+                return new ParsedRecord(recordLine, null, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static InputStream openStream(Path file) throws IOException {
+        InputStream input = Files.newInputStream(file);
+        return GameRecordFormat.isCompressed(file) ? new GZIPInputStream(input, BUFFER_SIZE) : input;
+    }
+
+    private Map<String, Integer> csvHeader(List<String> fields) throws IOException {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++)
+            columns.put(fields.get(i).trim().toLowerCase(Locale.ROOT), i);
+
+        if (!columns.containsKey("title"))
+            throw new IOException("CSV sem a coluna obrigatória 'title' no cabeçalho");
+        return columns;
+    }
+
+    private GameModel fromCsv(List<String> fields) {
+        Map<String, String> values = new HashMap<>();
+        for (Map.Entry<String, Integer> column : csvColumns.entrySet()) {
+            if (column.getValue() < fields.size())
+                values.put(column.getKey(), fields.get(column.getValue()));
+        }
+        return fromValues(values);
+    }
+
+    private static GameModel fromValues(Map<String, String> values) {
+        String title = values.get("title");
+        if (title == null || title.isBlank())
+            throw new IllegalArgumentException("Título não pode estar vazio");
+
+        return new GameModel(
+                0,
+                title.trim(),
+                Gender.fromString(values.get("gender")),
+                Platform.fromString(values.get("platform")),
+                parseInt(values.get("year"), "Ano"),
+                Status.fromString(values.get("status")),
+                parseInt(values.get("rate"), "Avaliação")
+        );
+    }
+
+    private static int parseInt(String value, String field) {
+        if (value == null || value.isBlank())
+            throw new IllegalArgumentException(field + " não informado");
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(field + " inválido: " + value);
+        }
+    }
+
+    /**
+     * Splits one CSV record (RFC 4180 quoting), pulling in further lines when a quoted field spans them.
+     */
+    private List<String> readCsvFields(String firstLine) throws IOException {
+        List<String> fields = new ArrayList<>(8);
+        StringBuilder field = new StringBuilder();
+        String line = firstLine;
+        boolean quoted = false;
+        int i = 0;
+
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) break;
+
+                String continuation = reader.readLine();
+                if (continuation == null)
+                    throw new IllegalArgumentException("Campo entre aspas não terminado");
+                lineNumber++;
+                field.append('\n');
+                line = continuation;
+                i = 0;
+                continue;
+            }
+
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c != '"') field.append(c);
+                else if (i < line.length() && line.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else quoted = false;
+            } else if (c == '"') quoted = true;
+            else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else field.append(c);
+        }
+
+        fields.add(field.toString());
+        return fields;
+    }
+
+    public record ParsedRecord(long line, GameModel game, String error) {
+        public boolean valid() {
+            return error == null;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.cerbon.io;
+
+import com.cerbon.model.GameModel;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Sequential writer that serializes games as CSV or JSON lines straight into a file channel.
+ * Output is buffered and optionally gzip-compressed (for {@code .gz} files), and the files it
+ * produces can be read back by {@link GameRecordReader}.
+ */
+public class GameRecordWriter implements AutoCloseable {
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final String CSV_HEADER = "id,title,gender,platform,year,status,rate";
+
+    private final BufferedWriter writer;
+    private final GameRecordFormat format;
+    private final StringBuilder line = new StringBuilder(128);
+    private long written = 0;
+
+    public GameRecordWriter(Path file) throws IOException {
+        this(openStream(file), GameRecordFormat.fromPath(file));
+    }
+
+    public GameRecordWriter(OutputStream output, GameRecordFormat format) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.format = format;
+
+        if (format == GameRecordFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.newLine();
+        }
+    }
+
+    public void write(GameModel game) throws IOException {
+        line.setLength(0);
+        if (format == GameRecordFormat.CSV) appendCsv(game);
+        else FlatJson.appendGame(line, game);
+
+        line.append('\n');
+        writer.append(line);
+        written++;
+    }
+
+    public long written() {
+        return written;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private static OutputStream openStream(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        OutputStream output = Channels.newOutputStream(channel);
+        return GameRecordFormat.isCompressed(file) ? new GZIPOutputStream(output, BUFFER_SIZE) : output;
+    }
+
+    private void appendCsv(GameModel game) {
+        line.append(game.id()).append(',');
+
+        String title = game.title();
+        if (title.indexOf(',') >= 0 || title.indexOf('"') >= 0 || title.indexOf('\n') >= 0 || title.indexOf('\r') >= 0)
+            line.append('"').append(title.replace("\"", "\"\"")).append('"');
+        else
+            line.append(title);
+
+        line.append(',').append(game.gender().name())
+                .append(',').append(game.platform().name())
+                .append(',').append(game.year())
+                .append(',').append(game.status().name())
+                .append(',').append(game.rate());
+    }
+}
@@ -0,0 +1,30 @@
+package com.cerbon.io;
+
+import java.util.List;
+
+/**
+ * Record class summarizing an import run: records read, games stored, records skipped
+ * as duplicates or as invalid, records the store failed to write (which can be imported again),
+ * and a bounded sample of the errors with their line numbers.
+ */
+public record ImportSummary(long records, long inserted, long duplicates, long invalid, long failed, List<String> errors) {
+    public ImportSummary {
+        errors = List.copyOf(errors);
+    }
+
+    public String describe() {
+        StringBuilder text = new StringBuilder()
+                .append("Registros lidos: ").append(records).append('\n')
+                .append("Jogos importados: ").append(inserted).append('\n')
+                .append("Duplicados ignorados: ").append(duplicates).append('\n')
+                .append("Registros inválidos: ").append(invalid);
+        if (failed > 0)
+            text.append('\n').append("Falhas de gravação (podem ser importados novamente): ").append(failed);
+
+        if (!errors.isEmpty()) {
+            text.append("\n\nPrimeiros erros:");
+            errors.stream().limit(10).forEach(error -> text.append("\n  ").append(error));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,44 @@
+package com.cerbon.model.type;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Precomputed name and code tables for decoding an enum without {@code valueOf},
+ * so unknown values fall back to a default constant instead of throwing.
+ * Names in exact upper case, as stored and exported, are found without allocating.
+ */
+final class EnumLookup<E extends Enum<E>> {
+    private final Map<String, E> byName = new HashMap<>();
+    private final Object[] byCode;
+    private final E fallback;
+
+    EnumLookup(E[] constants, ToIntFunction<E> code, E fallback) {
+        int maxCode = 0;
+        for (E constant : constants) {
+            byName.put(constant.name(), constant);
+            maxCode = Math.max(maxCode, code.applyAsInt(constant));
+        }
+        this.byCode = new Object[maxCode + 1];
+        for (E constant : constants)
+            byCode[code.applyAsInt(constant)] = constant;
+        this.fallback = fallback;
+    }
+
+    E fromName(String value) {
+        if (value == null) return fallback;
+
+        E constant = byName.get(value);
+        if (constant == null)
+            constant = byName.get(value.trim().toUpperCase(Locale.ROOT));
+        return constant != null ? constant : fallback;
+    }
+
+    @SuppressWarnings("unchecked")
+    E fromCode(int code) {
+        Object constant = code >= 0 && code < byCode.length ? byCode[code] : null;
+        return constant != null ? (E) constant : fallback;
+    }
+}
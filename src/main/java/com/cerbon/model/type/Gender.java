@@ -4,27 +4,38 @@ package com.cerbon.model.type;
  * Enumeration representing different game genres/genders available in the library.
  * Includes common game categories like ACTION, RPG, STRATEGY, and others,
  * with a fallback OTHER option for unrecognized genres.
+ * Each constant has a fixed code, which is how it is stored in the database.
  */
 public enum Gender {
-    ACTION,
-    ADVENTURE,
-    RPG,
-    STRATEGY,
-    SPORTS,
-    SIMULATION,
-    PUZZLE,
-    HORROR,
-    PLATFORMER,
-    RACING,
-    OTHER;
+    ACTION(0),
+    ADVENTURE(1),
+    RPG(2),
+    STRATEGY(3),
+    SPORTS(4),
+    SIMULATION(5),
+    PUZZLE(6),
+    HORROR(7),
+    PLATFORMER(8),
+    RACING(9),
+    OTHER(10);
 
-    public static Gender fromString(String value) {
-        if (value == null) return OTHER;
+    private static final EnumLookup<Gender> LOOKUP = new EnumLookup<>(values(), Gender::code, OTHER);
+
+    private final short code;
 
-        try {
-            return Gender.valueOf(value.trim().toUpperCase());
-        } catch (IllegalArgumentException ex) {
-            return OTHER;
-        }
+    Gender(int code) {
+        this.code = (short) code;
+    }
+
+    public short code() {
+        return code;
+    }
+
+    public static Gender fromCode(int code) {
+        return LOOKUP.fromCode(code);
+    }
+
+    public static Gender fromString(String value) {
+        return LOOKUP.fromName(value);
     }
 }
@@ -4,23 +4,33 @@ package com.cerbon.model.type;
  * Enumeration representing different gaming platforms supported by the library.
  * Includes major gaming platforms like PC, PlayStation, Xbox, Nintendo Switch,
  * mobile devices, and a fallback OTHER option for unrecognized platforms.
+ * Each constant has a fixed code, which is how it is stored in the database.
  */
 public enum Platform {
-    PC,
-    PLAYSTATION,
-    XBOX,
-    SWITCH,
-    MOBILE,
-    OTHER;
+    PC(0),
+    PLAYSTATION(1),
+    XBOX(2),
+    SWITCH(3),
+    MOBILE(4),
+    OTHER(5);
 
-    public static Platform fromString(String value) {
-        if (value == null) return OTHER;
+    private static final EnumLookup<Platform> LOOKUP = new EnumLookup<>(values(), Platform::code, OTHER);
+
+    private final short code;
+
+    Platform(int code) {
+        this.code = (short) code;
+    }
 
-        try {
-            return Platform.valueOf(value.trim().toUpperCase());
-        } catch (IllegalArgumentException ex) {
-            return OTHER;
-        }
+    public short code() {
+        return code;
     }
 
+    public static Platform fromCode(int code) {
+        return LOOKUP.fromCode(code);
+    }
+
+    public static Platform fromString(String value) {
+        return LOOKUP.fromName(value);
+    }
 }
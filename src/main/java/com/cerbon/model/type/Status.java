@@ -4,21 +4,32 @@ package com.cerbon.model.type;
  * Enumeration representing different game progress statuses in the library.
  * Tracks the current state of a game from planning to play to completion,
  * including TO_PLAY, PLAYING, STOPPED, CONCLUDED, and WISHLIST states.
+ * Each constant has a fixed code, which is how it is stored in the database.
  */
 public enum Status {
-    TO_PLAY,
-    PLAYING,
-    STOPPED,
-    CONCLUDED,
-    WISHLIST;
+    TO_PLAY(0),
+    PLAYING(1),
+    STOPPED(2),
+    CONCLUDED(3),
+    WISHLIST(4);
 
-    public static Status fromString(String value) {
-        if (value == null) return WISHLIST;
+    private static final EnumLookup<Status> LOOKUP = new EnumLookup<>(values(), Status::code, WISHLIST);
+
+    private final short code;
 
-        try {
-            return Status.valueOf(value.trim().toUpperCase());
-        } catch (IllegalArgumentException e) {
-            return WISHLIST;
-        }
+    Status(int code) {
+        this.code = (short) code;
+    }
+
+    public short code() {
+        return code;
+    }
+
+    public static Status fromCode(int code) {
+        return LOOKUP.fromCode(code);
+    }
+
+    public static Status fromString(String value) {
+        return LOOKUP.fromName(value);
     }
 }
@@ -0,0 +1,25 @@
+package com.cerbon.repository;
+
+import com.cerbon.model.GameModel;
+
+import java.util.List;
+
+/**
+ * Record class summarizing a bulk insert.
+ * Holds how many games were stored and, for every game that was skipped,
+ * its position in the submitted collection together with the reason.
+ */
+public record BulkInsertResult(int inserted, List<RowFailure> failures) {
+    public BulkInsertResult {
+        failures = List.copyOf(failures);
+    }
+
+    public enum Reason {
+        DUPLICATE,
+        INVALID,
+        /** The store failed to write the batch; the row itself was not rejected and can be retried. */
+        STORAGE
+    }
+
+    public record RowFailure(int index, GameModel game, Reason reason, String message) {}
+}
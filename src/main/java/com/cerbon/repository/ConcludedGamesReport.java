@@ -0,0 +1,19 @@
+package com.cerbon.repository;
+
+import com.cerbon.model.type.Gender;
+import com.cerbon.model.type.Platform;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Record class holding the number of concluded games broken down by platform and by genre.
+ * Only platforms and genres with at least one concluded game are present in the maps.
+ */
+public record ConcludedGamesReport(Map<Platform, Long> byPlatform, Map<Gender, Long> byGender) {
+    public ConcludedGamesReport {
+        byPlatform = Collections.unmodifiableMap(byPlatform.isEmpty() ? new EnumMap<>(Platform.class) : new EnumMap<>(byPlatform));
+        byGender = Collections.unmodifiableMap(byGender.isEmpty() ? new EnumMap<>(Gender.class) : new EnumMap<>(byGender));
+    }
+}
@@ -0,0 +1,11 @@
+package com.cerbon.repository;
+
+/**
+ * Exception thrown by repositories when a write would store a second game
+ * with the same title and platform as an existing one.
+ */
+public class DuplicateGameException extends RuntimeException {
+    public DuplicateGameException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,21 @@
+package com.cerbon.repository;
+
+import com.cerbon.model.GameModel;
+
+/**
+ * Record class describing one change to the games catalog made by any client.
+ * For inserts and updates {@code game} is the row as stored; for deletes only the id is known.
+ * A {@link Type#RESET} change means individual changes were lost and subscribers should reload.
+ */
+public record GameChange(Type type, int id, GameModel game) {
+    public enum Type {
+        INSERT,
+        UPDATE,
+        DELETE,
+        RESET
+    }
+
+    public static GameChange reset() {
+        return new GameChange(Type.RESET, 0, null);
+    }
+}
@@ -0,0 +1,12 @@
+package com.cerbon.repository;
+
+import java.util.List;
+
+/**
+ * Listener interface for receiving batches of catalog changes from a change feed.
+ * Called on the feed's own thread; implementations hand work to other threads as needed.
+ */
+@FunctionalInterface
+public interface GameChangeListener {
+    void onGameChanges(List<GameChange> changes);
+}
@@ -0,0 +1,25 @@
+package com.cerbon.repository;
+
+import com.cerbon.model.GameModel;
+import com.cerbon.model.type.Gender;
+import com.cerbon.model.type.Platform;
+import com.cerbon.model.type.Status;
+
+/**
+ * Record class describing a filter over the games catalog.
+ * Each property is optional; a null value means the property is not constrained,
+ * so {@link #ANY} matches every game.
+ */
+public record GameCriteria(Gender gender, Platform platform, Status status) {
+    public static final GameCriteria ANY = new GameCriteria(null, null, null);
+
+    public boolean isEmpty() {
+        return gender == null && platform == null && status == null;
+    }
+
+    public boolean matches(GameModel game) {
+        return (gender == null || game.gender() == gender)
+                && (platform == null || game.platform() == platform)
+                && (status == null || game.status() == status);
+    }
+}
@@ -0,0 +1,20 @@
+package com.cerbon.repository;
+
+import com.cerbon.model.GameModel;
+
+/**
+ * Record class describing one page of a keyset-paginated games query.
+ * {@code after} is the last game of the previous page (null for the first page); the next page
+ * starts right after its position in the (sort key, id) ordering.
+ */
+public record GamePageRequest(GameCriteria criteria, GameSortKey sortKey, boolean descending, GameModel after, int limit) {
+    public GamePageRequest {
+        if (criteria == null) criteria = GameCriteria.ANY;
+        if (sortKey == null) sortKey = GameSortKey.ID;
+        if (limit < 1) throw new IllegalArgumentException("Page limit must be positive: " + limit);
+    }
+
+    public static GamePageRequest first(GameCriteria criteria, GameSortKey sortKey, boolean descending, int limit) {
+        return new GamePageRequest(criteria, sortKey, descending, null, limit);
+    }
+}
@@ -0,0 +1,53 @@
+package com.cerbon.repository;
+
+import com.cerbon.model.GameModel;
+
+import java.util.Comparator;
+
+/**
+ * Enumeration of the properties the games list can be ordered by.
+ * Every ordering is completed by the game id so that keyset pagination has a unique cursor.
+ * Gender, platform and status order by their codes, as the database does. Titles order by Unicode code point,
+ * as the database does with the "C" collation it is asked for, so pages from memory and from SQL agree.
+ */
+public enum GameSortKey {
+    ID(Comparator.comparingInt(GameModel::id)),
+    TITLE(Comparator.comparing(GameModel::title, GameSortKey::compareText)),
+    GENDER(Comparator.comparingInt(game -> game.gender().code())),
+    PLATFORM(Comparator.comparingInt(game -> game.platform().code())),
+    YEAR(Comparator.comparingInt(GameModel::year)),
+    STATUS(Comparator.comparingInt(game -> game.status().code())),
+    RATE(Comparator.comparingInt(GameModel::rate));
+
+    private final Comparator<GameModel> comparator;
+
+    GameSortKey(Comparator<GameModel> keyComparator) {
+        this.comparator = keyComparator.thenComparingInt(GameModel::id);
+    }
+
+    public Comparator<GameModel> comparator(boolean descending) {
+        return descending ? comparator.reversed() : comparator;
+    }
+
+    /**
+     * Compares by code point, the order of UTF-8 bytes under PostgreSQL's "C" collation. {@link String#compareTo}
+     * compares UTF-16 units instead, which puts characters beyond U+FFFF before those from U+E000 to U+FFFF.
+     */
+    public static int compareText(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        for (int i = 0; i < length; i++) {
+            char x = a.charAt(i);
+            char y = b.charAt(i);
+            if (x == y) continue;
+            if (x >= Character.MIN_SURROGATE && y >= Character.MIN_SURROGATE)
+                return codeUnitRank(x) - codeUnitRank(y);
+            return x - y;
+        }
+        return a.length() - b.length();
+    }
+
+    // Moves surrogates above U+E000..U+FFFF so that UTF-16 units sort like the code points they encode
+    private static int codeUnitRank(char c) {
+        return c <= Character.MAX_SURROGATE ? c + 0x2000 : c - 0x800;
+    }
+}
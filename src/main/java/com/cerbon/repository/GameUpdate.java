@@ -0,0 +1,8 @@
+package com.cerbon.repository;
+
+import com.cerbon.model.GameModel;
+
+/**
+ * Record class pairing a game as it was before an update, when known, with the game as stored by it.
+ */
+public record GameUpdate(GameModel previous, GameModel current) {}
@@ -1,19 +1,60 @@
 package com.cerbon.repository;
 
 import com.cerbon.model.GameModel;
+import com.cerbon.model.type.Platform;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Repository interface defining the contract for game data persistence operations.
  * Provides methods for CRUD operations on GameModel entities including
- * adding, updating, deleting, and retrieving games from the data store.
+ * adding, updating, deleting, and retrieving games from the data store (writes return
+ * the entity as persisted, including its generated id),
+ * plus filtered queries and aggregates that the data store can answer without a full scan.
  */
 public interface IGamesRepository {
-    boolean add(GameModel game);
+    Optional<GameModel> add(GameModel game);
+    BulkInsertResult addAll(Collection<GameModel> games);
     boolean delete(int id);
-    GameModel update(GameModel game);
+    Optional<GameModel> update(GameModel game);
     Optional<GameModel> getById(int id);
     List<GameModel> getAll();
+    long streamAll(Consumer<? super GameModel> consumer);
+    List<GameModel> find(GameCriteria criteria);
+    List<GameModel> getPage(GamePageRequest request);
+    ConcludedGamesReport getConcludedReport();
+    boolean existsByTitleAndPlatform(String title, Platform platform, int excludedId);
+
+    /**
+     * Returns up to {@code limit} games whose title contains {@code fragment}, ignoring case, with titles
+     * that start with it first. Fragments shorter than three characters only match the start of titles.
+     */
+    List<GameModel> searchByTitle(String fragment, int limit);
+
+    /**
+     * Updates the game and returns it together with the version it replaced, for callers that keep aggregates
+     * up to date. Stores that can read the old row in the same round trip as the write override this.
+     */
+    default Optional<GameUpdate> updateReturningPrevious(GameModel game) {
+        GameModel previous = getById(game.id()).orElse(null);
+        return update(game).map(stored -> new GameUpdate(previous, stored));
+    }
+
+    /**
+     * Deletes the game and returns it as it was, or empty when there was no such game.
+     * Stores that can read the old row in the same round trip as the write override this.
+     */
+    default Optional<GameModel> deleteReturningPrevious(int id) {
+        Optional<GameModel> previous = getById(id);
+        return previous.isPresent() && delete(id) ? previous : Optional.empty();
+    }
+
+    /**
+     * Drops any data kept in memory on top of the data store, so the next reads see every client's changes.
+     */
+    default void invalidateCaches() {
+    }
 }
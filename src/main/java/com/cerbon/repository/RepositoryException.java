@@ -0,0 +1,11 @@
+package com.cerbon.repository;
+
+/**
+ * Exception thrown by repository operations that cannot report a failure through their return value,
+ * such as streaming reads that have already handed part of the result to the caller.
+ */
+public class RepositoryException extends RuntimeException {
+    public RepositoryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
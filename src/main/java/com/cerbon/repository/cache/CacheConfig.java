@@ -0,0 +1,29 @@
+package com.cerbon.repository.cache;
+
+/**
+ * Immutable configuration for the repository cache.
+ * Values are resolved from system properties ({@code gameslibrary.cache.*}) or environment
+ * variables ({@code GAMESLIBRARY_CACHE_*}), falling back to the defaults.
+ */
+public record CacheConfig(boolean enabled, int maxEntries, EvictionPolicy evictionPolicy) {
+    public CacheConfig {
+        if (maxEntries < 1)
+            throw new IllegalArgumentException("Invalid cache size: " + maxEntries);
+    }
+
+    public static CacheConfig fromEnvironment() {
+        return new CacheConfig(
+                Boolean.parseBoolean(setting("enabled", "true")),
+                Integer.parseInt(setting("max-entries", "200000")),
+                EvictionPolicy.valueOf(setting("eviction-policy", "LRU").toUpperCase())
+        );
+    }
+
+    private static String setting(String key, String defaultValue) {
+        String value = System.getProperty("gameslibrary.cache." + key);
+        if (value == null || value.isBlank())
+            value = System.getenv("GAMESLIBRARY_CACHE_" + key.toUpperCase().replace('-', '_'));
+
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+}
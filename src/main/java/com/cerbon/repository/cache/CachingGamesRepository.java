@@ -0,0 +1,342 @@
+package com.cerbon.repository.cache;
+
+import com.cerbon.model.GameModel;
+import com.cerbon.model.type.Platform;
+import com.cerbon.repository.*;
+import com.cerbon.repository.memory.GameCatalog;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Write-through caching decorator for any IGamesRepository.
+ * Keeps an id-indexed copy of the games, bounded by a maximum number of entries and an eviction policy.
+ * While the whole catalog fits in the cache, every read (lists, filters, pages, reports and duplicate
+ * checks) is answered from memory; once it no longer fits, only lookups by id are cached and the
+ * other reads go to the wrapped repository. Writes go to the wrapped repository first and are then
+ * applied to the cache, holding a lock for the game's id across both steps so that writes of one game
+ * reach the cache in the order they were committed. Snapshots are loaded into a new catalog without
+ * blocking reads and swapped in. Registered on a change feed, it also applies the changes made by
+ * other application instances.
+ */
+public class CachingGamesRepository implements IGamesRepository, GameChangeListener {
+    private final IGamesRepository delegate;
+    private final int maxEntries;
+    private final EvictionPolicy evictionPolicy;
+    private static final int ID_LOCK_STRIPES = 64;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Held by writes and by-id loads of a game from the wrapped repository until the cache reflects them
+    private final ReentrantLock[] idLocks = Stream.generate(ReentrantLock::new).limit(ID_LOCK_STRIPES).toArray(ReentrantLock[]::new);
+    // Held while a snapshot loads; reads arriving meanwhile go to the wrapped repository instead of waiting
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    // Guarded by lock
+    private GameCatalog catalog;
+    // Changes applied while a snapshot loads, replayed onto it before it is swapped in; null when not loading
+    private List<GameChange> changesDuringLoad;
+
+    // True while the cache holds every game in the wrapped repository. Written under the write lock; volatile so that
+    // reads can skip the snapshot load without taking a lock
+    private volatile boolean complete = false;
+    // Set once the catalog turned out to be larger than the cache, to stop reloading snapshots; written as above
+    private volatile boolean snapshotTooLarge = false;
+
+    public CachingGamesRepository(IGamesRepository delegate, int maxEntries, EvictionPolicy evictionPolicy) {
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.evictionPolicy = evictionPolicy;
+        this.catalog = new GameCatalog(evictionPolicy == EvictionPolicy.LRU);
+    }
+
+    /**
+     * Drops every cached game; the next catalog read reloads the snapshot.
+     */
+    @Override
+    public void invalidateCaches() {
+        lock.writeLock().lock();
+        try {
+            reset();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<GameModel> add(GameModel game) {
+        Optional<GameModel> added = delegate.add(game);
+        added.ifPresent(stored -> withIdLock(stored.id(), () -> cache(stored)));
+        return added;
+    }
+
+    @Override
+    public BulkInsertResult addAll(Collection<GameModel> games) {
+        BulkInsertResult result = delegate.addAll(games);
+        // The generated ids are not returned, so the snapshot is reloaded on the next read
+        if (result.inserted() > 0)
+            invalidateCaches();
+        return result;
+    }
+
+    @Override
+    public boolean delete(int id) {
+        return withIdLock(id, () -> {
+            boolean deleted = delegate.delete(id);
+            if (deleted) forget(id);
+            return deleted;
+        });
+    }
+
+    @Override
+    public Optional<GameModel> update(GameModel game) {
+        return withIdLock(game.id(), () -> {
+            Optional<GameModel> updated = delegate.update(game);
+            updated.ifPresent(this::cache);
+            return updated;
+        });
+    }
+
+    @Override
+    public Optional<GameUpdate> updateReturningPrevious(GameModel game) {
+        return withIdLock(game.id(), () -> {
+            Optional<GameUpdate> updated = delegate.updateReturningPrevious(game);
+            updated.ifPresent(update -> cache(update.current()));
+            return updated;
+        });
+    }
+
+    @Override
+    public Optional<GameModel> deleteReturningPrevious(int id) {
+        return withIdLock(id, () -> {
+            Optional<GameModel> deleted = delegate.deleteReturningPrevious(id);
+            if (deleted.isPresent()) forget(id);
+            return deleted;
+        });
+    }
+
+    @Override
+    public Optional<GameModel> getById(int id) {
+        // LRU lookups reorder the entries, so they need the exclusive lock
+        Lock lookupLock = evictionPolicy == EvictionPolicy.LRU ? lock.writeLock() : lock.readLock();
+        lookupLock.lock();
+        try {
+            GameModel cached = catalog.get(id);
+            if (cached != null || complete)
+                return Optional.ofNullable(cached);
+        } finally {
+            lookupLock.unlock();
+        }
+
+        // Under the id lock, so a row read just before a write of the same game cannot be cached after it
+        return withIdLock(id, () -> {
+            Optional<GameModel> loaded = delegate.getById(id);
+            loaded.ifPresent(this::cache);
+            return loaded;
+        });
+    }
+
+    @Override
+    public List<GameModel> getAll() {
+        return readCatalog(() -> catalog.getAll(), delegate::getAll);
+    }
+
+    @Override
+    public long streamAll(Consumer<? super GameModel> consumer) {
+        List<GameModel> snapshot = readCatalog(() -> catalog.getAll(), () -> null);
+        if (snapshot == null)
+            return delegate.streamAll(consumer);
+
+        snapshot.forEach(consumer);
+        return snapshot.size();
+    }
+
+    @Override
+    public List<GameModel> find(GameCriteria criteria) {
+        return readCatalog(() -> catalog.find(criteria), () -> delegate.find(criteria));
+    }
+
+    @Override
+    public List<GameModel> getPage(GamePageRequest request) {
+        return readCatalog(() -> catalog.page(request), () -> delegate.getPage(request));
+    }
+
+    @Override
+    public ConcludedGamesReport getConcludedReport() {
+        return readCatalog(() -> catalog.concludedReport(), delegate::getConcludedReport);
+    }
+
+    @Override
+    public boolean existsByTitleAndPlatform(String title, Platform platform, int excludedId) {
+        return readCatalog(() -> catalog.existsByTitleAndPlatform(title, platform, excludedId),
+                () -> delegate.existsByTitleAndPlatform(title, platform, excludedId));
+    }
+
+    @Override
+    public List<GameModel> searchByTitle(String fragment, int limit) {
+        return readCatalog(() -> catalog.searchByTitle(fragment, limit), () -> delegate.searchByTitle(fragment, limit));
+    }
+
+    @Override
+    public void onGameChanges(List<GameChange> changes) {
+        lock.writeLock().lock();
+        try {
+            for (GameChange change : changes) {
+                switch (change.type()) {
+                    case RESET -> reset();
+                    case DELETE -> forget(change.id());
+                    case INSERT, UPDATE -> {
+                        // A partial cache only refreshes the games it already holds, unless a snapshot is loading
+                        if (complete || changesDuringLoad != null || catalog.contains(change.id()))
+                            cache(change.game());
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // fromCache must read the catalog field when called, not capture it: a snapshot load replaces the catalog
+    private <T> T readCatalog(Supplier<T> fromCache, Supplier<T> fromDelegate) {
+        if (!complete && !loadSnapshot())
+            return fromDelegate.get();
+
+        lock.readLock().lock();
+        try {
+            return complete ? fromCache.get() : fromDelegate.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Streams the whole catalog into a new {@link GameCatalog} while reads carry on from the current one, then
+     * replays the writes made meanwhile onto it and swaps it in. Returns whether the cache is now complete;
+     * false straight away when another thread is loading it.
+     */
+    private boolean loadSnapshot() {
+        // Checked before any lock, so that reads of an oversized catalog do not queue up on the write lock
+        if (complete) return true;
+        if (snapshotTooLarge) return false;
+        if (!loadLock.tryLock()) return false;
+        try {
+            lock.writeLock().lock();
+            try {
+                if (complete) return true;
+                if (snapshotTooLarge) return false;
+                changesDuringLoad = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            GameCatalog loaded = new GameCatalog(evictionPolicy == EvictionPolicy.LRU);
+            boolean fits = true;
+            boolean failed = false;
+            try {
+                delegate.streamAll(game -> {
+                    if (loaded.size() == maxEntries)
+                        throw new SnapshotTooLargeException();
+                    loaded.put(game);
+                });
+            } catch (SnapshotTooLargeException e) {
+                fits = false;
+            } catch (RepositoryException e) {
+                System.err.println("Error loading games cache: " + e.getMessage());
+                failed = true;
+            }
+
+            lock.writeLock().lock();
+            try {
+                List<GameChange> changes = changesDuringLoad;
+                changesDuringLoad = null;
+                // An invalidation during the load may have come after rows the stream already read
+                if (failed || changes.stream().anyMatch(change -> change.type() == GameChange.Type.RESET))
+                    return false;
+
+                for (GameChange change : changes) {
+                    if (change.type() == GameChange.Type.DELETE) loaded.remove(change.id());
+                    else loaded.put(change.game());
+                }
+                // When the catalog does not fit, the games read so far stay as a warm by-id cache
+                catalog = loaded;
+                complete = fits;
+                snapshotTooLarge = !fits;
+                evictOverflow();
+                return complete;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private <T> T withIdLock(int id, Supplier<T> write) {
+        ReentrantLock idLock = idLocks[Math.floorMod(id, ID_LOCK_STRIPES)];
+        idLock.lock();
+        try {
+            return write.get();
+        } finally {
+            idLock.unlock();
+        }
+    }
+
+    private void withIdLock(int id, Runnable write) {
+        withIdLock(id, () -> {
+            write.run();
+            return null;
+        });
+    }
+
+    private void cache(GameModel game) {
+        lock.writeLock().lock();
+        try {
+            catalog.put(game);
+            if (changesDuringLoad != null) changesDuringLoad.add(new GameChange(GameChange.Type.UPDATE, game.id(), game));
+            evictOverflow();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void forget(int id) {
+        lock.writeLock().lock();
+        try {
+            catalog.remove(id);
+            if (changesDuringLoad != null) changesDuringLoad.add(new GameChange(GameChange.Type.DELETE, id, null));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Called with the write lock held
+    private void reset() {
+        catalog.clear();
+        complete = false;
+        snapshotTooLarge = false;
+        if (changesDuringLoad != null) changesDuringLoad.add(GameChange.reset());
+    }
+
+    // Called with the write lock held
+    private void evictOverflow() {
+        while (catalog.size() > maxEntries) {
+            catalog.remove(catalog.eldest().id());
+            complete = false;
+            snapshotTooLarge = true;
+        }
+    }
+
+    private static final class SnapshotTooLargeException extends RuntimeException {
+        private SnapshotTooLargeException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.cerbon.repository.cache;
+
+/**
+ * Enumeration of the policies that pick which cached game to drop when the cache is full.
+ * LRU drops the game that was read or written least recently; FIFO drops the oldest cached game.
+ */
+public enum EvictionPolicy {
+    LRU,
+    FIFO
+}
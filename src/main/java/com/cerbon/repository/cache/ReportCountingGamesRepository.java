@@ -0,0 +1,221 @@
+package com.cerbon.repository.cache;
+
+import com.cerbon.model.GameModel;
+import com.cerbon.model.type.Platform;
+import com.cerbon.repository.*;
+import com.cerbon.repository.memory.ConcludedGamesCounters;
+import com.cerbon.repository.memory.GameCatalog;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Decorator for any IGamesRepository that keeps the concluded games report as running counters.
+ * The counters are rebuilt from the wrapped repository once and then updated on every add, update
+ * and delete made through this instance, so reading the report costs nothing. Changes made by other
+ * clients, reported through a change feed, mark the counters stale and the next report rebuilds them.
+ * Updates and deletes of one game are serialized by a lock striped by id, so writes of different games
+ * run in parallel; a rebuild waits for the writes in flight and holds new ones back until it is done.
+ */
+public class ReportCountingGamesRepository implements IGamesRepository, GameChangeListener {
+    private static final int MAX_TRACKED_WRITES = 10_000;
+    private static final int ID_LOCK_STRIPES = 64;
+
+    private final IGamesRepository delegate;
+    private final ConcludedGamesCounters counters = new ConcludedGamesCounters();
+    // Shared by writes, exclusive to rebuilds, so no write lands between reading the report and resetting to it
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    // Held by an update or delete from reading the previous version of the game until its write is counted
+    private final ReentrantLock[] idLocks = Stream.generate(ReentrantLock::new).limit(ID_LOCK_STRIPES).toArray(ReentrantLock[]::new);
+    // Latest version written through this instance, by id, to tell the feed's echo of our own writes apart
+    private final Map<Integer, Optional<GameModel>> ownWrites = new ConcurrentHashMap<>();
+    // Games inserted in bulk through this instance, whose ids are not returned, by title and platform (unique in the store)
+    private final Map<String, GameModel> ownInserts = new ConcurrentHashMap<>();
+    // Bumped whenever the counters may have drifted; they are current while builtAt matches it
+    private final AtomicLong invalidations = new AtomicLong(1);
+    private volatile long builtAt = 0;
+
+    public ReportCountingGamesRepository(IGamesRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Recomputes the counters from the wrapped repository. When the report cannot be read the counters stay
+     * stale, so the next report tries again, and the {@link RepositoryException} is passed on.
+     */
+    public void rebuild() {
+        rebuildLock.writeLock().lock();
+        try {
+            // A change reported while the report is read may have missed it, so it keeps the counters stale
+            long version = invalidations.get();
+            counters.reset(delegate.getConcludedReport());
+            builtAt = version;
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void invalidateCaches() {
+        markStale();
+        delegate.invalidateCaches();
+    }
+
+    @Override
+    public Optional<GameModel> add(GameModel game) {
+        // An insert is counted without reading anything first, so it needs no id lock
+        return counted(() -> {
+            Optional<GameModel> added = delegate.add(game);
+            added.ifPresent(stored -> applyOwnWrite(stored.id(), null, stored));
+            return added;
+        });
+    }
+
+    @Override
+    public BulkInsertResult addAll(Collection<GameModel> games) {
+        return counted(() -> {
+            BulkInsertResult result = delegate.addAll(games);
+            if (result.inserted() == 0) return result;
+
+            // Every submitted game that is not listed as a failure was stored
+            if (result.inserted() != games.size() - result.failures().size()) {
+                markStale();
+                return result;
+            }
+            Set<Integer> failed = new HashSet<>();
+            result.failures().forEach(failure -> failed.add(failure.index()));
+            if (ownInserts.size() + result.inserted() > MAX_TRACKED_WRITES)
+                ownInserts.clear();
+            int index = 0;
+            for (GameModel game : games) {
+                if (!failed.contains(index++)) {
+                    counters.apply(null, game);
+                    ownInserts.put(GameCatalog.titleKey(game.title(), game.platform()), game);
+                }
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public boolean delete(int id) {
+        return counted(id, () -> {
+            Optional<GameModel> deleted = delegate.deleteReturningPrevious(id);
+            deleted.ifPresent(previous -> applyOwnWrite(id, previous, null));
+            return deleted.isPresent();
+        });
+    }
+
+    @Override
+    public Optional<GameModel> update(GameModel game) {
+        return counted(game.id(), () -> {
+            Optional<GameUpdate> updated = delegate.updateReturningPrevious(game);
+            updated.ifPresent(update -> applyOwnWrite(game.id(), update.previous(), update.current()));
+            return updated.map(GameUpdate::current);
+        });
+    }
+
+    @Override
+    public Optional<GameModel> getById(int id) {
+        return delegate.getById(id);
+    }
+
+    @Override
+    public List<GameModel> getAll() {
+        return delegate.getAll();
+    }
+
+    @Override
+    public long streamAll(Consumer<? super GameModel> consumer) {
+        return delegate.streamAll(consumer);
+    }
+
+    @Override
+    public List<GameModel> find(GameCriteria criteria) {
+        return delegate.find(criteria);
+    }
+
+    @Override
+    public List<GameModel> getPage(GamePageRequest request) {
+        return delegate.getPage(request);
+    }
+
+    @Override
+    public ConcludedGamesReport getConcludedReport() {
+        if (builtAt != invalidations.get()) rebuild();
+        return counters.snapshot();
+    }
+
+    @Override
+    public boolean existsByTitleAndPlatform(String title, Platform platform, int excludedId) {
+        return delegate.existsByTitleAndPlatform(title, platform, excludedId);
+    }
+
+    @Override
+    public List<GameModel> searchByTitle(String fragment, int limit) {
+        return delegate.searchByTitle(fragment, limit);
+    }
+
+    @Override
+    public void onGameChanges(List<GameChange> changes) {
+        for (GameChange change : changes) {
+            if (change.type() == GameChange.Type.RESET) {
+                markStale();
+                ownWrites.clear();
+                ownInserts.clear();
+                return;
+            }
+
+            // The feed reports the final state of a row, which matches our last write when nobody else touched it
+            Optional<GameModel> written = ownWrites.remove(change.id());
+            if (written == null && change.type() == GameChange.Type.INSERT && isOwnInsert(change.game()))
+                continue;
+            if (written == null || !written.equals(Optional.ofNullable(change.game())))
+                markStale();
+        }
+    }
+
+    private <T> T counted(Supplier<T> write) {
+        rebuildLock.readLock().lock();
+        try {
+            return write.get();
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private <T> T counted(int id, Supplier<T> write) {
+        ReentrantLock idLock = idLocks[Math.floorMod(id, ID_LOCK_STRIPES)];
+        idLock.lock();
+        try {
+            return counted(write);
+        } finally {
+            idLock.unlock();
+        }
+    }
+
+    private boolean isOwnInsert(GameModel game) {
+        GameModel inserted = ownInserts.remove(GameCatalog.titleKey(game.title(), game.platform()));
+        return inserted != null && game.equals(new GameModel(game.id(), inserted.title(), inserted.gender(),
+                inserted.platform(), inserted.year(), inserted.status(), inserted.rate()));
+    }
+
+    private void markStale() {
+        invalidations.incrementAndGet();
+    }
+
+    private void applyOwnWrite(int id, GameModel previous, GameModel current) {
+        counters.apply(previous, current);
+        if (ownWrites.size() >= MAX_TRACKED_WRITES) {
+            // No feed is draining the map; stop tracking rather than grow without bound
+            ownWrites.clear();
+        }
+        ownWrites.put(id, Optional.ofNullable(current));
+    }
+}
@@ -0,0 +1,579 @@
+package com.cerbon.repository.file;
+
+import com.cerbon.model.GameModel;
+import com.cerbon.model.type.Platform;
+import com.cerbon.repository.*;
+import com.cerbon.repository.BulkInsertResult.Reason;
+import com.cerbon.repository.BulkInsertResult.RowFailure;
+import com.cerbon.repository.memory.GameCatalog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Embedded IGamesRepository that keeps the catalog in memory and persists it to a directory,
+ * without a database server. Every write is appended to a write-ahead log before it is applied;
+ * once enough records pile up, the log is rotated and a compacted snapshot of the catalog is
+ * written in the background. On open, the newest complete snapshot is loaded and the logs written
+ * after it are replayed, dropping a record torn by a crash. Both files are read memory-mapped.
+ */
+public class FileGamesRepository implements IGamesRepository, AutoCloseable {
+    private static final String LOG_PREFIX = "wal-";
+    private static final String LOG_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".dat";
+
+    private final FileStoreConfig config;
+    private final Path directory;
+    private final GameCatalog catalog = new GameCatalog(false);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService compactor;
+    private final ScheduledExecutorService flusher;
+    private final FileChannel lockChannel;
+    private final FileLock directoryLock;
+
+    // Replaced under the write lock; volatile because the flusher syncs it without taking the lock
+    private volatile GameLog log;
+    // Guarded by the write lock
+    private long generation;
+    private int nextId = 1;
+    private long recordsSinceSnapshot = 0;
+    private volatile boolean closed = false;
+
+    // Group commit: writers wait until a sync has covered the sequence number of their write. Locks rather than
+    // a monitor, so that waiting virtual threads do not pin their carriers
+    private final ReentrantLock durabilityLock = new ReentrantLock();
+    private final Condition durabilityAdvanced = durabilityLock.newCondition();
+    // Held by the writer syncing the log with ALWAYS; the writers queued behind it usually find their write synced
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private volatile long appendedSequence = 0;
+    private volatile long durableSequence = 0;
+    private volatile boolean compacting = false;
+    private volatile Runnable errorListener;
+
+    private FileGamesRepository(FileStoreConfig config, FileChannel lockChannel, FileLock directoryLock) {
+        this.config = config;
+        this.directory = config.directory();
+        this.lockChannel = lockChannel;
+        this.directoryLock = directoryLock;
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> daemon(runnable, "gameslibrary-file-compactor"));
+        this.flusher = config.fsyncPolicy() == FsyncPolicy.INTERVAL
+                ? Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "gameslibrary-file-flusher"))
+                : null;
+    }
+
+    /**
+     * Opens the store in {@code config.directory()}, creating it when missing and recovering its contents.
+     */
+    public static FileGamesRepository open(FileStoreConfig config) throws IOException {
+        Files.createDirectories(config.directory());
+        FileChannel lockChannel = FileChannel.open(config.directory().resolve(".lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock directoryLock = lockChannel.tryLock();
+        if (directoryLock == null) {
+            lockChannel.close();
+            throw new IOException("Data directory is in use by another process: " + config.directory());
+        }
+
+        FileGamesRepository repository = new FileGamesRepository(config, lockChannel, directoryLock);
+        try {
+            repository.recover();
+        } catch (IOException | RuntimeException e) {
+            repository.close();
+            throw e;
+        }
+
+        if (repository.flusher != null) {
+            long interval = config.fsyncInterval().toNanos();
+            repository.flusher.scheduleWithFixedDelay(repository::flush, interval, interval, TimeUnit.NANOSECONDS);
+        }
+        return repository;
+    }
+
+    /**
+     * Registers a listener told, on the calling thread, whenever a write logged an I/O error and returned an
+     * empty result instead of throwing.
+     */
+    public void onError(Runnable listener) {
+        this.errorListener = listener;
+    }
+
+    @Override
+    public Optional<GameModel> add(GameModel game) {
+        GameModel stored;
+        long sequence;
+
+        lock.writeLock().lock();
+        try {
+            if (catalog.existsByTitleAndPlatform(game.title(), game.platform(), 0))
+                throw new DuplicateGameException("Duplicate title and platform: " + game.title(), null);
+
+            stored = new GameModel(nextId, game.title(), game.gender(), game.platform(), game.year(), game.status(), game.rate());
+            sequence = append(List.of(GameRecordCodec.put(stored)));
+            nextId++;
+            catalog.put(stored);
+            compactIfNeeded();
+        } catch (IOException e) {
+            System.err.println("Error adding game: " + e.getMessage());
+            reportError();
+            return Optional.empty();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        awaitDurable(sequence);
+        return Optional.of(stored);
+    }
+
+    @Override
+    public BulkInsertResult addAll(Collection<GameModel> games) {
+        List<RowFailure> failures = new ArrayList<>();
+        List<Integer> candidateIndexes = new ArrayList<>(games.size());
+        List<GameModel> submitted = new ArrayList<>(games.size());
+        List<GameModel> candidates = new ArrayList<>(games.size());
+        long sequence;
+
+        lock.writeLock().lock();
+        try {
+            Set<String> seenKeys = new HashSet<>(games.size() * 2);
+            int index = 0;
+            for (GameModel game : games) {
+                if (game.title() == null || game.title().isBlank())
+                    failures.add(new RowFailure(index, game, Reason.INVALID, "Título não pode estar vazio"));
+                else if (game.gender() == null || game.platform() == null || game.status() == null)
+                    failures.add(new RowFailure(index, game, Reason.INVALID, "Gênero, plataforma e status são obrigatórios"));
+                else if (!seenKeys.add(GameCatalog.titleKey(game.title(), game.platform())))
+                    failures.add(new RowFailure(index, game, Reason.DUPLICATE, "Título e plataforma repetidos no lote"));
+                else if (catalog.existsByTitleAndPlatform(game.title(), game.platform(), 0))
+                    failures.add(new RowFailure(index, game, Reason.DUPLICATE, "Já existe um jogo com este título e plataforma"));
+                else {
+                    candidateIndexes.add(index);
+                    submitted.add(game);
+                    candidates.add(new GameModel(nextId + candidates.size(), game.title(), game.gender(),
+                            game.platform(), game.year(), game.status(), game.rate()));
+                }
+                index++;
+            }
+            if (candidates.isEmpty())
+                return new BulkInsertResult(0, failures);
+
+            List<ByteBuffer> records = new ArrayList<>(candidates.size());
+            for (GameModel candidate : candidates)
+                records.add(GameRecordCodec.put(candidate));
+            sequence = append(records);
+
+            nextId += candidates.size();
+            candidates.forEach(catalog::put);
+            compactIfNeeded();
+        } catch (IOException e) {
+            System.err.println("Error adding games in bulk: " + e.getMessage());
+            reportError();
+            for (int i = 0; i < candidates.size(); i++)
+                failures.add(new RowFailure(candidateIndexes.get(i), submitted.get(i), Reason.STORAGE,
+                        "Erro ao gravar jogo no armazenamento local"));
+            failures.sort(Comparator.comparingInt(RowFailure::index));
+            return new BulkInsertResult(0, failures);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        awaitDurable(sequence);
+        return new BulkInsertResult(candidates.size(), failures);
+    }
+
+    @Override
+    public boolean delete(int id) {
+        long sequence;
+
+        lock.writeLock().lock();
+        try {
+            if (!catalog.contains(id)) return false;
+
+            sequence = append(List.of(GameRecordCodec.delete(id)));
+            catalog.remove(id);
+            compactIfNeeded();
+        } catch (IOException e) {
+            System.err.println("Error deleting game: " + e.getMessage());
+            reportError();
+            return false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        awaitDurable(sequence);
+        return true;
+    }
+
+    @Override
+    public Optional<GameModel> update(GameModel game) {
+        long sequence;
+
+        lock.writeLock().lock();
+        try {
+            if (!catalog.contains(game.id())) return Optional.empty();
+            if (catalog.existsByTitleAndPlatform(game.title(), game.platform(), game.id()))
+                throw new DuplicateGameException("Duplicate title and platform: " + game.title(), null);
+
+            sequence = append(List.of(GameRecordCodec.put(game)));
+            catalog.put(game);
+            compactIfNeeded();
+        } catch (IOException e) {
+            System.err.println("Error updating game: " + e.getMessage());
+            reportError();
+            return Optional.empty();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        awaitDurable(sequence);
+        return Optional.of(game);
+    }
+
+    @Override
+    public Optional<GameModel> getById(int id) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(catalog.get(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<GameModel> getAll() {
+        lock.readLock().lock();
+        try {
+            return catalog.getAll();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long streamAll(Consumer<? super GameModel> consumer) {
+        // The consumer may be slow (an export), so it runs on a copy instead of under the lock
+        List<GameModel> games = getAll();
+        games.forEach(consumer);
+        return games.size();
+    }
+
+    @Override
+    public List<GameModel> find(GameCriteria criteria) {
+        lock.readLock().lock();
+        try {
+            return catalog.find(criteria);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<GameModel> getPage(GamePageRequest request) {
+        lock.readLock().lock();
+        try {
+            return catalog.page(request);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public ConcludedGamesReport getConcludedReport() {
+        lock.readLock().lock();
+        try {
+            return catalog.concludedReport();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean existsByTitleAndPlatform(String title, Platform platform, int excludedId) {
+        lock.readLock().lock();
+        try {
+            return catalog.existsByTitleAndPlatform(title, platform, excludedId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<GameModel> searchByTitle(String fragment, int limit) {
+        lock.readLock().lock();
+        try {
+            return catalog.searchByTitle(fragment, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (flusher != null) flusher.shutdownNow();
+
+        lock.writeLock().lock();
+        try {
+            if (closed) return;
+            closed = true;
+            if (log != null) {
+                try {
+                    log.force();
+                } finally {
+                    log.close();
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error closing data log: " + e.getMessage());
+        } finally {
+            markDurable(appendedSequence);
+            lock.writeLock().unlock();
+        }
+
+        compactor.shutdown();
+        try {
+            if (!compactor.awaitTermination(30, TimeUnit.SECONDS))
+                System.err.println("Snapshot still being written on close; the log will be replayed on next start");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            directoryLock.release();
+            lockChannel.close();
+        } catch (IOException e) {
+            System.err.println("Error releasing data directory lock: " + e.getMessage());
+        }
+    }
+
+    private void recover() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(file -> file.getFileName().toString().endsWith(".tmp")).toList())
+                Files.deleteIfExists(file);
+        }
+
+        // Newest complete snapshot first; a damaged one falls back to the one before it
+        long snapshotGeneration = 0;
+        for (long candidate : generations(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX).descendingSet()) {
+            GameSnapshot snapshot = GameSnapshot.read(snapshotPath(candidate), catalog::put);
+            if (snapshot != null) {
+                snapshotGeneration = snapshot.generation();
+                nextId = snapshot.nextId();
+                break;
+            }
+            System.err.println("Ignoring incomplete snapshot " + snapshotPath(candidate));
+            catalog.clear();
+        }
+
+        // Logs older than a snapshot are deleted once it is written, so without one covering them the catalog is lost;
+        // opening with part of it would reuse live ids and the next compaction would make the loss permanent
+        NavigableSet<Long> logs = generations(LOG_PREFIX, LOG_SUFFIX);
+        boolean snapshotsSkipped = !generations(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX).tailSet(snapshotGeneration, false).isEmpty();
+        if (logs.isEmpty() ? snapshotsSkipped : logs.first() > snapshotGeneration)
+            throw new IOException("No complete snapshot covers the oldest data log in " + directory
+                    + "; restore a snapshot from a backup");
+
+        // Replay every log written since that snapshot, in order; only the last one can end in a torn record
+        generation = snapshotGeneration;
+        long validBytes = 0;
+        for (long logGeneration : logs.tailSet(snapshotGeneration)) {
+            generation = logGeneration;
+            validBytes = MappedRecordReader.read(logPath(logGeneration), this::replay);
+        }
+        log = GameLog.open(logPath(generation), validBytes);
+
+        deleteFilesBefore(snapshotGeneration);
+        System.out.println("Loaded " + catalog.size() + " games from " + directory);
+    }
+
+    private void reportError() {
+        Runnable listener = errorListener;
+        if (listener != null) listener.run();
+    }
+
+    private void replay(ByteBuffer body) {
+        byte type = body.get();
+        if (type == GameRecordCodec.PUT) {
+            GameModel game = GameRecordCodec.readGame(body);
+            catalog.put(game);
+            nextId = Math.max(nextId, game.id() + 1);
+        } else if (type == GameRecordCodec.DELETE) {
+            catalog.remove(body.getInt());
+        }
+        recordsSinceSnapshot++;
+    }
+
+    /**
+     * Appends records to the log; called with the write lock held before the records are applied to the catalog.
+     * Returns the sequence number to wait for with {@link #awaitDurable(long)} once the lock is released.
+     */
+    private long append(List<ByteBuffer> records) throws IOException {
+        if (closed) throw new IOException("Repository is closed");
+
+        log.append(records);
+        long sequence = ++appendedSequence;
+        recordsSinceSnapshot += records.size();
+        return sequence;
+    }
+
+    /**
+     * Starts a compaction once enough records were logged; called with the write lock held,
+     * after the write has been applied to the catalog so that the snapshot includes it.
+     */
+    private void compactIfNeeded() {
+        if (recordsSinceSnapshot < config.compactAfterRecords() || compacting) return;
+
+        try {
+            startCompaction();
+        } catch (IOException e) {
+            // The writes are already in the log; compaction is retried on the next write
+            System.err.println("Error rotating data log: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Waits, without the write lock, until the write with {@code sequence} is synced. With ALWAYS the caller syncs
+     * the log itself, together with every write appended before the sync started; with INTERVAL it waits for the flusher.
+     */
+    private void awaitDurable(long sequence) {
+        switch (config.fsyncPolicy()) {
+            case ALWAYS -> {
+                syncLock.lock();
+                try {
+                    if (durableSequence < sequence && !flush())
+                        reportError();
+                } finally {
+                    syncLock.unlock();
+                }
+            }
+            case INTERVAL -> {
+                durabilityLock.lock();
+                try {
+                    while (durableSequence < sequence && !closed)
+                        durabilityAdvanced.await(config.fsyncInterval().toMillis() + 1, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    durabilityLock.unlock();
+                }
+            }
+            case NONE -> {
+            }
+        }
+    }
+
+    private void markDurable(long sequence) {
+        durabilityLock.lock();
+        try {
+            if (sequence > durableSequence) durableSequence = sequence;
+            durabilityAdvanced.signalAll();
+        } finally {
+            durabilityLock.unlock();
+        }
+    }
+
+    /**
+     * Syncs the log up to the last appended write; returns false when the sync failed.
+     */
+    private boolean flush() {
+        // Read the sequence before the log: a rotation in between has already synced the older log
+        long sequence = appendedSequence;
+        if (sequence == durableSequence) return true;
+
+        GameLog current = log;
+        try {
+            current.force();
+            markDurable(sequence);
+        } catch (ClosedChannelException e) {
+            // Rotated or closed while we were here; both sync the log themselves
+        } catch (IOException e) {
+            System.err.println("Error syncing data log: " + e.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Starts a new log generation and writes the catalog as it is now to a snapshot in the background.
+     * Called with the write lock held.
+     */
+    private void startCompaction() throws IOException {
+        GameLog previous = log;
+        previous.force();
+        markDurable(appendedSequence);
+
+        long snapshotGeneration = generation + 1;
+        log = GameLog.open(logPath(snapshotGeneration), 0);
+        generation = snapshotGeneration;
+        previous.close();
+
+        List<GameModel> games = catalog.getAll();
+        int snapshotNextId = nextId;
+        recordsSinceSnapshot = 0;
+        compacting = true;
+
+        compactor.execute(() -> {
+            try {
+                GameSnapshot.write(snapshotPath(snapshotGeneration), snapshotGeneration, snapshotNextId, games);
+                deleteFilesBefore(snapshotGeneration);
+            } catch (IOException e) {
+                // The older snapshot and every log since it are kept, so nothing is lost
+                System.err.println("Error writing snapshot: " + e.getMessage());
+            } finally {
+                compacting = false;
+            }
+        });
+    }
+
+    private void deleteFilesBefore(long snapshotGeneration) throws IOException {
+        for (long old : generations(LOG_PREFIX, LOG_SUFFIX).headSet(snapshotGeneration))
+            Files.deleteIfExists(logPath(old));
+        for (long old : generations(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX).headSet(snapshotGeneration))
+            Files.deleteIfExists(snapshotPath(old));
+    }
+
+    private NavigableSet<Long> generations(String prefix, String suffix) throws IOException {
+        NavigableSet<Long> generations = new TreeSet<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && name.endsWith(suffix))
+                    .forEach(name -> {
+                        try {
+                            generations.add(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())));
+                        } catch (NumberFormatException ignored) {
+                            // Not one of ours
+                        }
+                    });
+        }
+        return generations;
+    }
+
+    private Path logPath(long generation) {
+        return directory.resolve(String.format("%s%020d%s", LOG_PREFIX, generation, LOG_SUFFIX));
+    }
+
+    private Path snapshotPath(long generation) {
+        return directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, generation, SNAPSHOT_SUFFIX));
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -0,0 +1,42 @@
+package com.cerbon.repository.file;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Immutable configuration for the embedded file-backed repository.
+ * Values are resolved from system properties ({@code gameslibrary.file.*}) or environment
+ * variables ({@code GAMESLIBRARY_FILE_*}), falling back to the defaults.
+ */
+public record FileStoreConfig(
+        boolean enabled,
+        Path directory,
+        FsyncPolicy fsyncPolicy,
+        Duration fsyncInterval,
+        int compactAfterRecords) {
+
+    public FileStoreConfig {
+        if (fsyncInterval.isNegative() || fsyncInterval.isZero())
+            throw new IllegalArgumentException("Invalid fsync interval: " + fsyncInterval);
+        if (compactAfterRecords < 1)
+            throw new IllegalArgumentException("Invalid compaction threshold: " + compactAfterRecords);
+    }
+
+    public static FileStoreConfig fromEnvironment() {
+        return new FileStoreConfig(
+                Boolean.parseBoolean(setting("enabled", "false")),
+                Path.of(setting("directory", Path.of(System.getProperty("user.home"), ".gameslibrary", "data").toString())),
+                FsyncPolicy.valueOf(setting("fsync-policy", "INTERVAL").toUpperCase()),
+                Duration.ofMillis(Long.parseLong(setting("fsync-interval-ms", "2"))),
+                Integer.parseInt(setting("compact-after-records", "100000"))
+        );
+    }
+
+    private static String setting(String key, String defaultValue) {
+        String value = System.getProperty("gameslibrary.file." + key);
+        if (value == null || value.isBlank())
+            value = System.getenv("GAMESLIBRARY_FILE_" + key.toUpperCase().replace('-', '_'));
+
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+}
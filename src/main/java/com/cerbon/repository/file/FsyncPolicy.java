@@ -0,0 +1,12 @@
+package com.cerbon.repository.file;
+
+/**
+ * When the file-backed repository forces log writes to disk.
+ * ALWAYS syncs every write before it returns; INTERVAL makes writers wait for the next periodic sync,
+ * so concurrent writers share one; NONE leaves flushing to the operating system.
+ */
+public enum FsyncPolicy {
+    ALWAYS,
+    INTERVAL,
+    NONE
+}
@@ -0,0 +1,92 @@
+package com.cerbon.repository.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Append-only write-ahead log file of framed game records.
+ * A failed append is cut off again so that the log never keeps a partial record before later ones.
+ */
+final class GameLog implements AutoCloseable {
+    private final Path file;
+    private final FileChannel channel;
+    private long size;
+
+    private GameLog(Path file, FileChannel channel, long size) {
+        this.file = file;
+        this.channel = channel;
+        this.size = size;
+    }
+
+    /**
+     * Opens {@code file} for appending after its first {@code validBytes} bytes, dropping anything behind them.
+     */
+    static GameLog open(Path file, long validBytes) throws IOException {
+        boolean created = Files.notExists(file);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            // Records synced to a new log are only found after a crash if its directory entry was synced too
+            if (created) syncDirectory(file.getParent());
+            if (channel.size() > validBytes) {
+                System.err.println("Discarding " + (channel.size() - validBytes) + " bytes of incomplete log records in " + file);
+                channel.truncate(validBytes);
+            }
+            channel.position(validBytes);
+            return new GameLog(file, channel, validBytes);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    void append(List<ByteBuffer> records) throws IOException {
+        ByteBuffer[] buffers = records.toArray(new ByteBuffer[0]);
+        long start = size;
+        long remaining = 0;
+        for (ByteBuffer buffer : buffers) remaining += buffer.remaining();
+
+        try {
+            while (remaining > 0)
+                remaining -= channel.write(buffers);
+            size = channel.position();
+        } catch (IOException e) {
+            try {
+                channel.truncate(start);
+                channel.position(start);
+            } catch (IOException truncateError) {
+                e.addSuppressed(truncateError);
+            }
+            throw e;
+        }
+    }
+
+    void force() throws IOException {
+        channel.force(false);
+    }
+
+    Path file() {
+        return file;
+    }
+
+    /**
+     * Makes the files created in, renamed into or removed from {@code directory} durable.
+     */
+    static void syncDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (AccessDeniedException e) {
+            // Windows cannot open a directory; NTFS journals the directory change itself
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,93 @@
+package com.cerbon.repository.file;
+
+import com.cerbon.model.GameModel;
+import com.cerbon.model.type.Gender;
+import com.cerbon.model.type.Platform;
+import com.cerbon.model.type.Status;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Binary encoding of the records in the log and snapshot files.
+ * Every record is framed as its body length and the CRC-32 of the body, followed by the body,
+ * whose first byte is the record type. Enum values are stored by name so reordering constants is safe.
+ */
+final class GameRecordCodec {
+    static final int FRAME_HEADER_BYTES = 8;
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+    static final byte SNAPSHOT_HEADER = 3;
+    static final byte SNAPSHOT_FOOTER = 4;
+
+    private GameRecordCodec() {
+    }
+
+    static ByteBuffer put(GameModel game) {
+        byte[] title = game.title().getBytes(StandardCharsets.UTF_8);
+        byte[] gender = game.gender().name().getBytes(StandardCharsets.US_ASCII);
+        byte[] platform = game.platform().name().getBytes(StandardCharsets.US_ASCII);
+        byte[] status = game.status().name().getBytes(StandardCharsets.US_ASCII);
+
+        ByteBuffer body = ByteBuffer.allocate(1 + 3 * Integer.BYTES + 4 * Integer.BYTES
+                + title.length + gender.length + platform.length + status.length);
+        body.put(PUT).putInt(game.id()).putInt(game.year()).putInt(game.rate());
+        putBytes(body, title);
+        putBytes(body, gender);
+        putBytes(body, platform);
+        putBytes(body, status);
+        return frame(body);
+    }
+
+    static ByteBuffer delete(int id) {
+        return frame(ByteBuffer.allocate(1 + Integer.BYTES).put(DELETE).putInt(id));
+    }
+
+    static ByteBuffer snapshotHeader(long generation, int nextId, int count) {
+        return frame(ByteBuffer.allocate(1 + Long.BYTES + 2 * Integer.BYTES)
+                .put(SNAPSHOT_HEADER).putLong(generation).putInt(nextId).putInt(count));
+    }
+
+    static ByteBuffer snapshotFooter(int count) {
+        return frame(ByteBuffer.allocate(1 + Integer.BYTES).put(SNAPSHOT_FOOTER).putInt(count));
+    }
+
+    /**
+     * Reads a PUT body positioned just after its type byte.
+     */
+    static GameModel readGame(ByteBuffer body) {
+        int id = body.getInt();
+        int year = body.getInt();
+        int rate = body.getInt();
+        String title = getString(body);
+        Gender gender = Gender.fromString(getString(body));
+        Platform platform = Platform.fromString(getString(body));
+        Status status = Status.fromString(getString(body));
+        return new GameModel(id, title, gender, platform, year, status, rate);
+    }
+
+    static int crc(ByteBuffer body) {
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        return (int) crc.getValue();
+    }
+
+    private static ByteBuffer frame(ByteBuffer body) {
+        body.flip();
+        ByteBuffer framed = ByteBuffer.allocate(FRAME_HEADER_BYTES + body.remaining());
+        framed.putInt(body.remaining()).putInt(crc(body)).put(body);
+        return framed.flip();
+    }
+
+    private static void putBytes(ByteBuffer body, byte[] bytes) {
+        body.putInt(bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer body) {
+        byte[] bytes = new byte[body.getInt()];
+        body.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
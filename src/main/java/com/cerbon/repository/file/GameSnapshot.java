@@ -0,0 +1,87 @@
+package com.cerbon.repository.file;
+
+import com.cerbon.model.GameModel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Record class describing a compacted copy of the catalog: the {@code size} games stored when log
+ * generation {@code generation} was started, plus the next id to assign.
+ * Snapshot files are written under a temporary name and renamed once synced, and the rename is synced
+ * with the directory, so a snapshot file is either complete or absent; the footer record guards against
+ * truncated copies anyway.
+ */
+record GameSnapshot(long generation, int nextId, int size) {
+    private static final int WRITE_BUFFER_BYTES = 1024 * 1024;
+
+    static void write(Path file, long generation, int nextId, Collection<GameModel> games) throws IOException {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_BYTES);
+            writeRecord(channel, buffer, GameRecordCodec.snapshotHeader(generation, nextId, games.size()));
+            for (GameModel game : games)
+                writeRecord(channel, buffer, GameRecordCodec.put(game));
+            writeRecord(channel, buffer, GameRecordCodec.snapshotFooter(games.size()));
+            drain(channel, buffer);
+            channel.force(true);
+        }
+
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        // Until the rename is synced a crash can lose it, after the older files it replaces were deleted
+        GameLog.syncDirectory(file.getParent());
+    }
+
+    /**
+     * Hands the games of a snapshot file to {@code consumer} and describes the snapshot,
+     * or returns null when the file is incomplete or damaged (the games read so far must then be dropped).
+     */
+    static GameSnapshot read(Path file, Consumer<GameModel> consumer) throws IOException {
+        // generation, next id, game count from the header; whether header and a matching footer were seen
+        long[] header = new long[3];
+        boolean[] seen = {false, false};
+        int[] count = {0};
+
+        MappedRecordReader.read(file, body -> {
+            byte type = body.get();
+            if (type == GameRecordCodec.SNAPSHOT_HEADER) {
+                header[0] = body.getLong();
+                header[1] = body.getInt();
+                header[2] = body.getInt();
+                seen[0] = true;
+            } else if (type == GameRecordCodec.PUT) {
+                consumer.accept(GameRecordCodec.readGame(body));
+                count[0]++;
+            } else if (type == GameRecordCodec.SNAPSHOT_FOOTER) {
+                seen[1] = body.getInt() == count[0];
+            }
+        });
+
+        if (!seen[0] || !seen[1] || header[2] != count[0]) return null;
+        return new GameSnapshot(header[0], (int) header[1], count[0]);
+    }
+
+    private static void writeRecord(FileChannel channel, ByteBuffer buffer, ByteBuffer record) throws IOException {
+        if (record.remaining() > buffer.remaining()) drain(channel, buffer);
+        if (record.remaining() > buffer.capacity()) {
+            while (record.hasRemaining()) channel.write(record);
+            return;
+        }
+        buffer.put(record);
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+}
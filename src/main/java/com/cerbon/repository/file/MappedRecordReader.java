@@ -0,0 +1,69 @@
+package com.cerbon.repository.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads the framed records of a log or snapshot file through memory-mapped windows of the file.
+ * Reading stops at the first record that is cut short or fails its checksum, which is where
+ * a crash interrupted the last write.
+ */
+final class MappedRecordReader {
+    private static final long WINDOW_BYTES = 64L * 1024 * 1024;
+
+    @FunctionalInterface
+    interface RecordHandler {
+        void accept(ByteBuffer body);
+    }
+
+    private MappedRecordReader() {
+    }
+
+    /**
+     * Hands every intact record body to {@code handler} and returns the offset just past the last one.
+     */
+    static long read(Path file, RecordHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            long windowStart = 0;
+            MappedByteBuffer window = null;
+
+            while (position + GameRecordCodec.FRAME_HEADER_BYTES <= size) {
+                if (window == null || position + GameRecordCodec.FRAME_HEADER_BYTES > windowStart + window.capacity()) {
+                    windowStart = position;
+                    window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(WINDOW_BYTES, size - windowStart));
+                }
+
+                int length = window.getInt((int) (position - windowStart));
+                int checksum = window.getInt((int) (position - windowStart) + Integer.BYTES);
+                long end = position + GameRecordCodec.FRAME_HEADER_BYTES + length;
+                if (length < 1 || end > size) break;
+
+                // Records larger than what is left of the window get a window of their own
+                if (end > windowStart + window.capacity()) {
+                    windowStart = position;
+                    window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart,
+                            Math.min(Math.max(WINDOW_BYTES, end - position), size - windowStart));
+                }
+
+                ByteBuffer body = window.slice((int) (position - windowStart) + GameRecordCodec.FRAME_HEADER_BYTES, length);
+                if (GameRecordCodec.crc(body) != checksum) break;
+
+                try {
+                    handler.accept(body);
+                } catch (RuntimeException e) {
+                    // A body that passes the checksum but cannot be decoded is treated like a torn write
+                    System.err.println("Unreadable record in " + file + " at offset " + position + ": " + e);
+                    break;
+                }
+                position = end;
+            }
+            return position;
+        }
+    }
+}
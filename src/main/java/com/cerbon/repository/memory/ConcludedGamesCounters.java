@@ -0,0 +1,63 @@
+package com.cerbon.repository.memory;
+
+import com.cerbon.model.GameModel;
+import com.cerbon.model.type.Gender;
+import com.cerbon.model.type.Platform;
+import com.cerbon.model.type.Status;
+import com.cerbon.repository.ConcludedGamesReport;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Running totals of concluded games by platform and by genre, indexed by enum ordinal.
+ * Every write is applied as the removal of the old version of a game plus the addition of the new one,
+ * so a report is read from the counters without looking at any game. Thread-safe.
+ */
+public class ConcludedGamesCounters {
+    private final long[] byPlatform = new long[Platform.values().length];
+    private final long[] byGender = new long[Gender.values().length];
+
+    /**
+     * Applies one write: {@code removed} is the game as it was (null for an insert) and
+     * {@code added} the game as it is now (null for a delete).
+     */
+    public synchronized void apply(GameModel removed, GameModel added) {
+        if (removed != null && removed.status() == Status.CONCLUDED) {
+            byPlatform[removed.platform().ordinal()]--;
+            byGender[removed.gender().ordinal()]--;
+        }
+        if (added != null && added.status() == Status.CONCLUDED) {
+            byPlatform[added.platform().ordinal()]++;
+            byGender[added.gender().ordinal()]++;
+        }
+    }
+
+    public synchronized void reset(ConcludedGamesReport report) {
+        for (Platform platform : Platform.values())
+            byPlatform[platform.ordinal()] = report.byPlatform().getOrDefault(platform, 0L);
+        for (Gender gender : Gender.values())
+            byGender[gender.ordinal()] = report.byGender().getOrDefault(gender, 0L);
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(byPlatform, 0L);
+        Arrays.fill(byGender, 0L);
+    }
+
+    public synchronized ConcludedGamesReport snapshot() {
+        Map<Platform, Long> platforms = new EnumMap<>(Platform.class);
+        for (Platform platform : Platform.values()) {
+            if (byPlatform[platform.ordinal()] > 0)
+                platforms.put(platform, byPlatform[platform.ordinal()]);
+        }
+
+        Map<Gender, Long> genders = new EnumMap<>(Gender.class);
+        for (Gender gender : Gender.values()) {
+            if (byGender[gender.ordinal()] > 0)
+                genders.put(gender, byGender[gender.ordinal()]);
+        }
+        return new ConcludedGamesReport(platforms, genders);
+    }
+}
@@ -0,0 +1,129 @@
+package com.cerbon.repository.memory;
+
+import com.cerbon.model.GameModel;
+import com.cerbon.model.type.Platform;
+import com.cerbon.repository.ConcludedGamesReport;
+import com.cerbon.repository.GameCriteria;
+import com.cerbon.repository.GamePageRequest;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * In-memory, id-indexed collection of games that answers the repository queries without a database.
+ * Also indexes games by normalized title and platform for duplicate checks, by gender, platform
+ * and status in a {@link GameFilterIndex} for filtered reads, and keeps the concluded games report
+ * as running counters. Iteration follows insertion order, or access order when created for LRU use.
+ * Not thread-safe: owners synchronize access.
+ */
+public class GameCatalog {
+    private final LinkedHashMap<Integer, GameModel> games;
+    private final Map<String, Integer> idByTitleKey = new HashMap<>();
+    private final GameFilterIndex filterIndex = new GameFilterIndex();
+    private final ConcludedGamesCounters concludedCounters = new ConcludedGamesCounters();
+
+    public GameCatalog(boolean accessOrder) {
+        this.games = new LinkedHashMap<>(1024, 0.75f, accessOrder);
+    }
+
+    /**
+     * Key under which two games count as duplicates: title ignoring case and surrounding spaces, plus platform.
+     */
+    public static String titleKey(String title, Platform platform) {
+        return title.trim().toLowerCase(Locale.ROOT) + '\u0000' + platform.name();
+    }
+
+    public GameModel get(int id) {
+        return games.get(id);
+    }
+
+    public boolean contains(int id) {
+        return games.containsKey(id);
+    }
+
+    public GameModel put(GameModel game) {
+        GameModel previous = games.put(game.id(), game);
+        if (previous != null)
+            idByTitleKey.remove(titleKey(previous.title(), previous.platform()), previous.id());
+        idByTitleKey.put(titleKey(game.title(), game.platform()), game.id());
+        filterIndex.put(game);
+        concludedCounters.apply(previous, game);
+        return previous;
+    }
+
+    public GameModel remove(int id) {
+        GameModel previous = games.remove(id);
+        if (previous != null) {
+            idByTitleKey.remove(titleKey(previous.title(), previous.platform()), id);
+            filterIndex.remove(id);
+            concludedCounters.apply(previous, null);
+        }
+        return previous;
+    }
+
+    /**
+     * Returns the first game in iteration order: the oldest insert, or the least recently used one.
+     */
+    public GameModel eldest() {
+        return games.isEmpty() ? null : games.values().iterator().next();
+    }
+
+    public int size() {
+        return games.size();
+    }
+
+    public void clear() {
+        games.clear();
+        idByTitleKey.clear();
+        filterIndex.clear();
+        concludedCounters.clear();
+    }
+
+    public List<GameModel> getAll() {
+        return new ArrayList<>(games.values());
+    }
+
+    public void forEach(Consumer<? super GameModel> consumer) {
+        games.values().forEach(consumer);
+    }
+
+    public List<GameModel> find(GameCriteria criteria) {
+        return criteria.isEmpty() ? getAll() : filterIndex.find(criteria);
+    }
+
+    public int count(GameCriteria criteria) {
+        return filterIndex.count(criteria);
+    }
+
+    public ConcludedGamesReport concludedReport() {
+        return concludedCounters.snapshot();
+    }
+
+    public boolean existsByTitleAndPlatform(String title, Platform platform, int excludedId) {
+        Integer id = idByTitleKey.get(titleKey(title, platform));
+        return id != null && id != excludedId;
+    }
+
+    public List<GameModel> searchByTitle(String fragment, int limit) {
+        return filterIndex.searchTitle(fragment, limit);
+    }
+
+    public List<GameModel> page(GamePageRequest request) {
+        Comparator<GameModel> order = request.sortKey().comparator(request.descending());
+        GameModel after = request.after();
+
+        // Keep the first `limit` games after the cursor in a bounded max-heap instead of sorting everything
+        PriorityQueue<GameModel> selected = new PriorityQueue<>(request.limit() + 1, order.reversed());
+        filterIndex.forEachMatch(request.criteria(), game -> {
+            if (after != null && order.compare(game, after) <= 0) return;
+
+            selected.add(game);
+            if (selected.size() > request.limit())
+                selected.poll();
+        });
+
+        List<GameModel> page = new ArrayList<>(selected);
+        page.sort(order);
+        return page;
+    }
+}
@@ -0,0 +1,267 @@
+package com.cerbon.repository.memory;
+
+import com.cerbon.model.GameModel;
+import com.cerbon.model.type.Gender;
+import com.cerbon.model.type.Platform;
+import com.cerbon.model.type.Status;
+import com.cerbon.repository.GameCriteria;
+import com.cerbon.repository.GameSortKey;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Bitmap index over the gender, platform and status of a set of games.
+ * Every game takes a slot, and each enum constant owns a bitset with one bit per slot, so any
+ * filter combination is answered by AND-ing at most three bitsets a word at a time and reading
+ * the games of the set bits, without looking at the games that do not match. Titles are indexed
+ * by trigram for searches by fragment and kept sorted for searches by prefix. Freed slots are reused
+ * by later games.
+ * Not thread-safe: owners synchronize access.
+ */
+public class GameFilterIndex {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Map<Integer, Integer> slotById = new HashMap<>();
+    private GameModel[] gameBySlot = new GameModel[INITIAL_CAPACITY];
+    private String[] titleBySlot = new String[INITIAL_CAPACITY];
+    private long[] live = new long[words(INITIAL_CAPACITY)];
+    private final long[][] byGender = bitsets(Gender.values().length);
+    private final long[][] byPlatform = bitsets(Platform.values().length);
+    private final long[][] byStatus = bitsets(Status.values().length);
+    private final TitleNgramIndex titleIndex = new TitleNgramIndex();
+    // Normalized titles in result order; the titles starting with a prefix are a contiguous range of it
+    private final NavigableSet<TitleMatch> sortedTitles = new TreeSet<>();
+
+    private int[] freeSlots = new int[16];
+    private int freeCount = 0;
+    private int nextSlot = 0;
+
+    /**
+     * Adds a game, or re-indexes it when a game with the same id is already present.
+     */
+    public void put(GameModel game) {
+        Integer existing = slotById.get(game.id());
+        if (existing != null) {
+            GameModel previous = gameBySlot[existing];
+            boolean titleChanged = !previous.title().equals(game.title());
+            unmark(existing, previous);
+            mark(existing, game);
+            if (titleChanged) {
+                titleIndex.remove(titleBySlot[existing]);
+                sortedTitles.remove(new TitleMatch(true, titleBySlot[existing], existing, game.id()));
+                indexTitle(existing, game);
+            }
+            return;
+        }
+
+        int slot = freeCount > 0 ? freeSlots[--freeCount] : nextSlot++;
+        ensureCapacity(slot + 1);
+        slotById.put(game.id(), slot);
+        mark(slot, game);
+        indexTitle(slot, game);
+    }
+
+    public void remove(int id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) return;
+
+        unmark(slot, gameBySlot[slot]);
+        titleIndex.remove(titleBySlot[slot]);
+        sortedTitles.remove(new TitleMatch(true, titleBySlot[slot], slot, id));
+        titleBySlot[slot] = null;
+        if (freeCount == freeSlots.length)
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        freeSlots[freeCount++] = slot;
+    }
+
+    public int size() {
+        return slotById.size();
+    }
+
+    public void clear() {
+        slotById.clear();
+        Arrays.fill(gameBySlot, null);
+        Arrays.fill(titleBySlot, null);
+        Arrays.fill(live, 0L);
+        for (long[][] bitsets : List.of(byGender, byPlatform, byStatus))
+            for (long[] bitset : bitsets) Arrays.fill(bitset, 0L);
+        titleIndex.clear();
+        sortedTitles.clear();
+        freeCount = 0;
+        nextSlot = 0;
+    }
+
+    public List<GameModel> find(GameCriteria criteria) {
+        List<GameModel> matches = new ArrayList<>();
+        forEachMatch(criteria, matches::add);
+        return matches;
+    }
+
+    /**
+     * Number of games matching {@code criteria}, counted from the bitsets alone.
+     */
+    public int count(GameCriteria criteria) {
+        long[] matches = intersect(criteria);
+        int count = 0;
+        for (int i = 0; i < words(nextSlot); i++)
+            count += Long.bitCount(matches[i]);
+        return count;
+    }
+
+    public void forEachMatch(GameCriteria criteria, Consumer<? super GameModel> consumer) {
+        long[] matches = intersect(criteria);
+        int usedWords = words(nextSlot);
+
+        for (int i = 0; i < usedWords; i++) {
+            long word = matches[i];
+            while (word != 0) {
+                consumer.accept(gameBySlot[(i << 6) + Long.numberOfTrailingZeros(word)]);
+                word &= word - 1;
+            }
+        }
+    }
+
+    /**
+     * Games whose title contains {@code fragment} ignoring case (only as a prefix when it is shorter than a trigram),
+     * at most {@code limit}, with titles starting with it first and then in title order.
+     */
+    public List<GameModel> searchTitle(String fragment, int limit) {
+        String normalized = normalize(fragment.trim());
+        if (normalized.isEmpty() || limit <= 0) return new ArrayList<>();
+
+        if (normalized.length() < TitleNgramIndex.GRAM_LENGTH) {
+            // Walks the sorted titles from the first one that can start with the fragment, reading only the results
+            List<GameModel> matches = new ArrayList<>(Math.min(limit, 64));
+            for (TitleMatch match : sortedTitles.tailSet(new TitleMatch(true, normalized, -1, Integer.MIN_VALUE), true)) {
+                if (matches.size() == limit || !match.title().startsWith(normalized)) break;
+                matches.add(gameBySlot[match.slot()]);
+            }
+            return matches;
+        }
+
+        // Bounded max-heap of the best `limit` matches; most candidates lose to its head and are never added
+        PriorityQueue<TitleMatch> selected = new PriorityQueue<>(limit + 1, Comparator.reverseOrder());
+
+        // Postings can be stale or list a reused slot twice, so every candidate is checked once against its title
+        long[] seen = new long[words(nextSlot)];
+        for (int slot : titleIndex.candidates(normalized)) {
+            if ((seen[slot >>> 6] & 1L << slot) != 0) continue;
+            set(seen, slot);
+
+            String title = titleBySlot[slot];
+            if (title != null && title.contains(normalized))
+                offer(selected, limit, new TitleMatch(title.startsWith(normalized), title, slot, gameBySlot[slot].id()));
+        }
+
+        List<TitleMatch> ordered = new ArrayList<>(selected);
+        Collections.sort(ordered);
+        List<GameModel> matches = new ArrayList<>(ordered.size());
+        for (TitleMatch match : ordered)
+            matches.add(gameBySlot[match.slot()]);
+        return matches;
+    }
+
+    private static void offer(PriorityQueue<TitleMatch> selected, int limit, TitleMatch match) {
+        if (selected.size() == limit && match.compareTo(selected.peek()) >= 0) return;
+
+        selected.add(match);
+        if (selected.size() > limit)
+            selected.poll();
+    }
+
+    private long[] intersect(GameCriteria criteria) {
+        List<long[]> constraints = new ArrayList<>(3);
+        if (criteria.gender() != null) constraints.add(byGender[criteria.gender().ordinal()]);
+        if (criteria.platform() != null) constraints.add(byPlatform[criteria.platform().ordinal()]);
+        if (criteria.status() != null) constraints.add(byStatus[criteria.status().ordinal()]);
+        if (constraints.isEmpty()) return live;
+
+        // The most selective bitset is not known up front, so the first one is copied and the rest AND-ed in place
+        int usedWords = words(nextSlot);
+        long[] result = Arrays.copyOf(constraints.get(0), usedWords);
+        for (int c = 1; c < constraints.size(); c++) {
+            long[] bitset = constraints.get(c);
+            for (int i = 0; i < usedWords; i++)
+                result[i] &= bitset[i];
+        }
+        return result;
+    }
+
+    private void mark(int slot, GameModel game) {
+        gameBySlot[slot] = game;
+        set(live, slot);
+        set(byGender[game.gender().ordinal()], slot);
+        set(byPlatform[game.platform().ordinal()], slot);
+        set(byStatus[game.status().ordinal()], slot);
+    }
+
+    private void unmark(int slot, GameModel game) {
+        gameBySlot[slot] = null;
+        clear(live, slot);
+        clear(byGender[game.gender().ordinal()], slot);
+        clear(byPlatform[game.platform().ordinal()], slot);
+        clear(byStatus[game.status().ordinal()], slot);
+    }
+
+    private void indexTitle(int slot, GameModel game) {
+        titleBySlot[slot] = normalize(game.title());
+        sortedTitles.add(new TitleMatch(true, titleBySlot[slot], slot, game.id()));
+        titleIndex.add(slot, titleBySlot[slot]);
+        if (!titleIndex.needsRebuild()) return;
+
+        titleIndex.clear();
+        for (int i = 0; i < nextSlot; i++) {
+            if (titleBySlot[i] != null)
+                titleIndex.add(i, titleBySlot[i]);
+        }
+    }
+
+    private void ensureCapacity(int slots) {
+        if (slots <= gameBySlot.length) return;
+
+        int capacity = Math.max(slots, gameBySlot.length * 2);
+        gameBySlot = Arrays.copyOf(gameBySlot, capacity);
+        titleBySlot = Arrays.copyOf(titleBySlot, capacity);
+        live = Arrays.copyOf(live, words(capacity));
+        for (long[][] bitsets : List.of(byGender, byPlatform, byStatus))
+            for (int i = 0; i < bitsets.length; i++)
+                bitsets[i] = Arrays.copyOf(bitsets[i], words(capacity));
+    }
+
+    private static String normalize(String title) {
+        return title.toLowerCase(Locale.ROOT);
+    }
+
+    private static long[][] bitsets(int constants) {
+        long[][] bitsets = new long[constants][];
+        for (int i = 0; i < constants; i++)
+            bitsets[i] = new long[words(INITIAL_CAPACITY)];
+        return bitsets;
+    }
+
+    private static int words(int slots) {
+        return (slots + 63) >>> 6;
+    }
+
+    private static void set(long[] bitset, int slot) {
+        bitset[slot >>> 6] |= 1L << slot;
+    }
+
+    private static void clear(long[] bitset, int slot) {
+        bitset[slot >>> 6] &= ~(1L << slot);
+    }
+
+    /**
+     * Search hit ordered as the results are shown: titles starting with the fragment first, then by title, in code
+     * point order as the database sorts them, and id.
+     */
+    private record TitleMatch(boolean prefix, String title, int slot, int id) implements Comparable<TitleMatch> {
+        @Override
+        public int compareTo(TitleMatch other) {
+            if (prefix != other.prefix) return prefix ? -1 : 1;
+            int byTitle = GameSortKey.compareText(title, other.title);
+            return byTitle != 0 ? byTitle : Integer.compare(id, other.id);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.cerbon.repository.memory;
+
+import com.cerbon.model.GameModel;
+import com.cerbon.model.type.Platform;
+import com.cerbon.repository.*;
+import com.cerbon.repository.BulkInsertResult.Reason;
+import com.cerbon.repository.BulkInsertResult.RowFailure;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Repository held entirely in a {@link GameCatalog}, standing in for the database in tests and
+ * benchmarks so that they exercise the application code rather than PostgreSQL round trips.
+ */
+public class InMemoryGamesRepository implements IGamesRepository {
+    private final GameCatalog catalog = new GameCatalog(false);
+    private int nextId = 1;
+
+    @Override
+    public synchronized Optional<GameModel> add(GameModel game) {
+        if (catalog.existsByTitleAndPlatform(game.title(), game.platform(), 0))
+            throw new DuplicateGameException("Duplicate title and platform: " + game.title(), null);
+
+        GameModel added = withId(game, nextId++);
+        catalog.put(added);
+        return Optional.of(added);
+    }
+
+    @Override
+    public synchronized BulkInsertResult addAll(Collection<GameModel> games) {
+        List<RowFailure> failures = new ArrayList<>();
+        int inserted = 0;
+        int index = 0;
+        for (GameModel game : games) {
+            if (catalog.existsByTitleAndPlatform(game.title(), game.platform(), 0)) {
+                failures.add(new RowFailure(index, game, Reason.DUPLICATE, "Já existe um jogo com este título e plataforma"));
+            } else {
+                catalog.put(withId(game, nextId++));
+                inserted++;
+            }
+            index++;
+        }
+        return new BulkInsertResult(inserted, failures);
+    }
+
+    @Override
+    public synchronized boolean delete(int id) {
+        return catalog.remove(id) != null;
+    }
+
+    @Override
+    public synchronized Optional<GameModel> update(GameModel game) {
+        if (!catalog.contains(game.id())) return Optional.empty();
+        if (catalog.existsByTitleAndPlatform(game.title(), game.platform(), game.id()))
+            throw new DuplicateGameException("Duplicate title and platform: " + game.title(), null);
+
+        catalog.put(game);
+        return Optional.of(game);
+    }
+
+    @Override
+    public synchronized Optional<GameModel> getById(int id) {
+        return Optional.ofNullable(catalog.get(id));
+    }
+
+    @Override
+    public synchronized List<GameModel> getAll() {
+        return catalog.getAll();
+    }
+
+    @Override
+    public synchronized long streamAll(Consumer<? super GameModel> consumer) {
+        catalog.forEach(consumer);
+        return catalog.size();
+    }
+
+    @Override
+    public synchronized List<GameModel> find(GameCriteria criteria) {
+        return catalog.find(criteria);
+    }
+
+    @Override
+    public synchronized List<GameModel> getPage(GamePageRequest request) {
+        return catalog.page(request);
+    }
+
+    @Override
+    public synchronized ConcludedGamesReport getConcludedReport() {
+        return catalog.concludedReport();
+    }
+
+    @Override
+    public synchronized boolean existsByTitleAndPlatform(String title, Platform platform, int excludedId) {
+        return catalog.existsByTitleAndPlatform(title, platform, excludedId);
+    }
+
+    @Override
+    public synchronized List<GameModel> searchByTitle(String fragment, int limit) {
+        return catalog.searchByTitle(fragment, limit);
+    }
+
+    private static GameModel withId(GameModel game, int id) {
+        return new GameModel(id, game.title(), game.gender(), game.platform(), game.year(), game.status(), game.rate());
+    }
+}
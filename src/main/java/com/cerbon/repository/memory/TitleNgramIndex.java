@@ -0,0 +1,73 @@
+package com.cerbon.repository.memory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Trigram postings over lower-cased titles, by slot of the owning {@link GameFilterIndex}.
+ * Postings are append-only: removed or changed titles leave stale entries behind, which searches
+ * filter out by checking the current title, and the owner rebuilds the index once they dominate.
+ */
+class TitleNgramIndex {
+    static final int GRAM_LENGTH = 3;
+
+    private final Map<Long, Postings> postingsByGram = new HashMap<>();
+    private long livePostings = 0;
+    private long stalePostings = 0;
+
+    void add(int slot, String normalizedTitle) {
+        for (int i = 0; i + GRAM_LENGTH <= normalizedTitle.length(); i++) {
+            Postings postings = postingsByGram.computeIfAbsent(gram(normalizedTitle, i), key -> new Postings());
+            // A title repeating a trigram is listed once; its slot is always the last one appended
+            if (postings.size > 0 && postings.slots[postings.size - 1] == slot) continue;
+            postings.add(slot);
+            livePostings++;
+        }
+    }
+
+    void remove(String normalizedTitle) {
+        long grams = Math.max(0, normalizedTitle.length() - GRAM_LENGTH + 1);
+        livePostings -= grams;
+        stalePostings += grams;
+    }
+
+    boolean needsRebuild() {
+        return stalePostings > 1024 && stalePostings > livePostings;
+    }
+
+    void clear() {
+        postingsByGram.clear();
+        livePostings = 0;
+        stalePostings = 0;
+    }
+
+    /**
+     * Slots that may contain {@code normalizedFragment}: the postings of its rarest trigram,
+     * or an empty array when one of its trigrams appears in no title.
+     */
+    int[] candidates(String normalizedFragment) {
+        Postings rarest = null;
+        for (int i = 0; i + GRAM_LENGTH <= normalizedFragment.length(); i++) {
+            Postings postings = postingsByGram.get(gram(normalizedFragment, i));
+            if (postings == null) return new int[0];
+            if (rarest == null || postings.size < rarest.size) rarest = postings;
+        }
+        return rarest == null ? new int[0] : Arrays.copyOf(rarest.slots, rarest.size);
+    }
+
+    private static long gram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int size = 0;
+
+        private void add(int slot) {
+            if (size == slots.length)
+                slots = Arrays.copyOf(slots, size * 2);
+            slots[size++] = slot;
+        }
+    }
+}
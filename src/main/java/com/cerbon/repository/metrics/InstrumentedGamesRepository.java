@@ -0,0 +1,147 @@
+package com.cerbon.repository.metrics;
+
+import com.cerbon.model.GameModel;
+import com.cerbon.model.type.Platform;
+import com.cerbon.repository.*;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Repository decorator that records the latency, rows, errors and connection waits of every call
+ * into {@link RepositoryMetrics} and emits a Flight Recorder event for it.
+ * Recording takes two clock reads and a few atomic increments, so it can stay on under load.
+ */
+public class InstrumentedGamesRepository implements IGamesRepository {
+    private final IGamesRepository delegate;
+    private final RepositoryMetrics metrics;
+    private final OperationMetrics add;
+    private final OperationMetrics addAll;
+    private final OperationMetrics delete;
+    private final OperationMetrics update;
+    private final OperationMetrics getById;
+    private final OperationMetrics getAll;
+    private final OperationMetrics streamAll;
+    private final OperationMetrics find;
+    private final OperationMetrics getPage;
+    private final OperationMetrics concludedReport;
+    private final OperationMetrics existsByTitleAndPlatform;
+    private final OperationMetrics searchByTitle;
+
+    public InstrumentedGamesRepository(IGamesRepository delegate, RepositoryMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.add = metrics.operation("add");
+        this.addAll = metrics.operation("addAll");
+        this.delete = metrics.operation("delete");
+        this.update = metrics.operation("update");
+        this.getById = metrics.operation("getById");
+        this.getAll = metrics.operation("getAll");
+        this.streamAll = metrics.operation("streamAll");
+        this.find = metrics.operation("find");
+        this.getPage = metrics.operation("getPage");
+        this.concludedReport = metrics.operation("getConcludedReport");
+        this.existsByTitleAndPlatform = metrics.operation("existsByTitleAndPlatform");
+        this.searchByTitle = metrics.operation("searchByTitle");
+    }
+
+    @Override
+    public Optional<GameModel> add(GameModel game) {
+        return measure(add, () -> delegate.add(game), added -> added.isPresent() ? 1 : 0);
+    }
+
+    @Override
+    public BulkInsertResult addAll(Collection<GameModel> games) {
+        return measure(addAll, () -> delegate.addAll(games), BulkInsertResult::inserted);
+    }
+
+    @Override
+    public boolean delete(int id) {
+        return measure(delete, () -> delegate.delete(id), deleted -> deleted ? 1 : 0);
+    }
+
+    @Override
+    public Optional<GameModel> update(GameModel game) {
+        return measure(update, () -> delegate.update(game), updated -> updated.isPresent() ? 1 : 0);
+    }
+
+    @Override
+    public Optional<GameModel> getById(int id) {
+        return measure(getById, () -> delegate.getById(id), found -> found.isPresent() ? 1 : 0);
+    }
+
+    @Override
+    public List<GameModel> getAll() {
+        return measure(getAll, delegate::getAll, List::size);
+    }
+
+    @Override
+    public long streamAll(Consumer<? super GameModel> consumer) {
+        return measure(streamAll, () -> delegate.streamAll(consumer), Long::longValue);
+    }
+
+    @Override
+    public List<GameModel> find(GameCriteria criteria) {
+        return measure(find, () -> delegate.find(criteria), List::size);
+    }
+
+    @Override
+    public List<GameModel> getPage(GamePageRequest request) {
+        return measure(getPage, () -> delegate.getPage(request), List::size);
+    }
+
+    @Override
+    public ConcludedGamesReport getConcludedReport() {
+        return measure(concludedReport, delegate::getConcludedReport, report -> 0);
+    }
+
+    @Override
+    public boolean existsByTitleAndPlatform(String title, Platform platform, int excludedId) {
+        return measure(existsByTitleAndPlatform, () -> delegate.existsByTitleAndPlatform(title, platform, excludedId),
+                exists -> exists ? 1 : 0);
+    }
+
+    @Override
+    public List<GameModel> searchByTitle(String fragment, int limit) {
+        return measure(searchByTitle, () -> delegate.searchByTitle(fragment, limit), List::size);
+    }
+
+    @Override
+    public void invalidateCaches() {
+        delegate.invalidateCaches();
+    }
+
+    private <T> T measure(OperationMetrics operation, Supplier<T> call, ToLongFunction<T> rows) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        RepositoryMetrics.Call context = metrics.begin();
+        long rowCount = 0;
+        boolean failed = true;
+
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            rowCount = rows.applyAsLong(result);
+            // Repositories that log an error and return an empty result report it through the context
+            failed = context.failed;
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            metrics.end(context);
+            operation.record(elapsed, rowCount, failed, context.connections, context.connectionWaitNanos);
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = operation.name();
+                event.rows = rowCount;
+                event.failed = failed;
+                event.connectionWait = context.connectionWaitNanos;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.cerbon.repository.metrics;
+
+/**
+ * Immutable configuration for the repository metrics.
+ * Values are resolved from system properties ({@code gameslibrary.metrics.*}) or environment
+ * variables ({@code GAMESLIBRARY_METRICS_*}), falling back to the defaults.
+ */
+public record MetricsConfig(boolean enabled, boolean jmx) {
+    public static MetricsConfig fromEnvironment() {
+        return new MetricsConfig(
+                Boolean.parseBoolean(setting("enabled", "true")),
+                Boolean.parseBoolean(setting("jmx", "true"))
+        );
+    }
+
+    private static String setting(String key, String defaultValue) {
+        String value = System.getProperty("gameslibrary.metrics." + key);
+        if (value == null || value.isBlank())
+            value = System.getenv("GAMESLIBRARY_METRICS_" + key.toUpperCase().replace('-', '_'));
+
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+}
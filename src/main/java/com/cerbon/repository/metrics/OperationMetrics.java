@@ -0,0 +1,111 @@
+package com.cerbon.repository.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency, error, row and connection wait metrics of one repository operation.
+ * Every call records its latency; the time it spent waiting for pooled connections is recorded
+ * only for calls that borrowed one, so cache hits do not dilute the waits.
+ */
+public class OperationMetrics implements OperationMetricsMBean {
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram connectionWait = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private volatile long startedAt = System.nanoTime();
+
+    public OperationMetrics(String name) {
+        this.name = name;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    void record(long latencyNanos, long rowCount, boolean failed, int connections, long connectionWaitNanos) {
+        latency.record(latencyNanos);
+        if (rowCount > 0) rows.add(rowCount);
+        if (failed) errors.increment();
+        if (connections > 0) connectionWait.record(connectionWaitNanos);
+    }
+
+    public LatencyHistogram.Snapshot latency() {
+        return latency.snapshot();
+    }
+
+    @Override
+    public long getCalls() {
+        return latency.count();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public long getRows() {
+        return rows.sum();
+    }
+
+    @Override
+    public double getThroughputPerSecond() {
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        return seconds > 0 ? latency.count() / seconds : 0;
+    }
+
+    @Override
+    public long getLatencyP50Micros() {
+        return micros(latency.snapshot().percentileNanos(50));
+    }
+
+    @Override
+    public long getLatencyP99Micros() {
+        return micros(latency.snapshot().percentileNanos(99));
+    }
+
+    @Override
+    public long getLatencyP999Micros() {
+        return micros(latency.snapshot().percentileNanos(99.9));
+    }
+
+    @Override
+    public long getLatencyMaxMicros() {
+        return micros(latency.snapshot().maxNanos());
+    }
+
+    @Override
+    public long getLatencyMeanMicros() {
+        return micros(latency.snapshot().meanNanos());
+    }
+
+    @Override
+    public long getConnectionWaitP99Micros() {
+        return micros(connectionWait.snapshot().percentileNanos(99));
+    }
+
+    @Override
+    public long getConnectionWaitMaxMicros() {
+        return micros(connectionWait.snapshot().maxNanos());
+    }
+
+    @Override
+    public long getConnectionWaitTotalMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(connectionWait.snapshot().totalNanos());
+    }
+
+    @Override
+    public void reset() {
+        latency.reset();
+        connectionWait.reset();
+        errors.reset();
+        rows.reset();
+        startedAt = System.nanoTime();
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
@@ -0,0 +1,21 @@
+package com.cerbon.repository.metrics;
+
+/**
+ * JMX view of the metrics of one repository operation. Latencies are in microseconds,
+ * counted since the application started or since the last {@link #reset()}.
+ */
+public interface OperationMetricsMBean {
+    long getCalls();
+    long getErrors();
+    long getRows();
+    double getThroughputPerSecond();
+    long getLatencyP50Micros();
+    long getLatencyP99Micros();
+    long getLatencyP999Micros();
+    long getLatencyMaxMicros();
+    long getLatencyMeanMicros();
+    long getConnectionWaitP99Micros();
+    long getConnectionWaitMaxMicros();
+    long getConnectionWaitTotalMillis();
+    void reset();
+}
@@ -0,0 +1,103 @@
+package com.cerbon.repository.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Metrics of every repository operation, published as one MBean per operation under
+ * {@code com.cerbon.gameslibrary:type=RepositoryOperation}. Connection waits reported by the pool,
+ * and errors that a repository turned into an empty result, are charged to the operation running on
+ * the same thread, if any; work done on background threads is recorded as an operation of its own.
+ */
+public class RepositoryMetrics {
+    private static final String JMX_DOMAIN = "com.cerbon.gameslibrary";
+
+    private final Map<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+    private final ThreadLocal<Call> currentCall = new ThreadLocal<>();
+
+    public OperationMetrics operation(String name) {
+        return operations.computeIfAbsent(name, OperationMetrics::new);
+    }
+
+    public Collection<OperationMetrics> operations() {
+        return operations.values();
+    }
+
+    /**
+     * Records that the current thread waited {@code nanos} for a pooled connection.
+     */
+    public void recordConnectionWait(long nanos) {
+        Call call = currentCall.get();
+        if (call == null) return;
+
+        call.connections++;
+        call.connectionWaitNanos += nanos;
+    }
+
+    /**
+     * Records that the operation running on the current thread failed, even though it returns normally.
+     */
+    public void recordFailure() {
+        Call call = currentCall.get();
+        if (call != null) call.failed = true;
+    }
+
+    /**
+     * Records a call made outside of any repository operation, such as a write-behind flush, into the
+     * operation {@code name}; failures of such calls cannot be charged to an operation on the current thread.
+     */
+    public void recordBackground(String name, long latencyNanos, long rowCount, boolean failed) {
+        operation(name).record(latencyNanos, rowCount, failed, 0, 0);
+    }
+
+    public void registerMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (OperationMetrics operation : operations.values()) {
+            try {
+                ObjectName name = new ObjectName(JMX_DOMAIN + ":type=RepositoryOperation,name=" + operation.name());
+                if (!server.isRegistered(name))
+                    server.registerMBean(operation, name);
+            } catch (JMException e) {
+                System.err.println("Error registering repository metrics MBean: " + e.getMessage());
+            }
+        }
+    }
+
+    Call begin() {
+        Call call = new Call(currentCall.get());
+        currentCall.set(call);
+        return call;
+    }
+
+    void end(Call call) {
+        if (call.parent == null) {
+            currentCall.remove();
+            return;
+        }
+
+        // Waits and failures of a nested call also delayed or degraded the call around it
+        call.parent.connections += call.connections;
+        call.parent.connectionWaitNanos += call.connectionWaitNanos;
+        call.parent.failed |= call.failed;
+        currentCall.set(call.parent);
+    }
+
+    /**
+     * Connection waits and failures of one call in progress; only touched by the thread running it.
+     */
+    static final class Call {
+        private final Call parent;
+        int connections;
+        long connectionWaitNanos;
+        boolean failed;
+
+        private Call(Call parent) {
+            this.parent = parent;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.cerbon.repository.metrics;
+
+import jdk.jfr.*;
+
+/**
+ * Flight Recorder event for one repository call. Like every custom event it costs next to nothing
+ * while no recording has it enabled; stack traces are off by default to keep recordings cheap.
+ */
+@Name("com.cerbon.gameslibrary.RepositoryOperation")
+@Label("Repository Operation")
+@Category({"Games Library", "Repository"})
+@Description("A call to the games repository")
+@StackTrace(false)
+class RepositoryOperationEvent extends Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Rows")
+    long rows;
+
+    @Label("Failed")
+    boolean failed;
+
+    @Label("Connection Wait")
+    @Timespan(Timespan.NANOSECONDS)
+    long connectionWait;
+}
@@ -0,0 +1,57 @@
+package com.cerbon.repository.postgres;
+
+import java.time.Duration;
+
+/**
+ * Immutable configuration for the PostgreSQL connection and its connection pool.
+ * Each value is resolved from a system property ({@code gameslibrary.db.*}) or an
+ * environment variable ({@code GAMESLIBRARY_DB_*}), falling back to the docker-compose defaults.
+ */
+public record DatabaseConfig(
+        String url,
+        String user,
+        String password,
+        int minPoolSize,
+        int maxPoolSize,
+        Duration connectionTimeout,
+        Duration idleTimeout,
+        String validationQuery,
+        Duration leakDetectionThreshold,
+        int fetchSize,
+        boolean changeFeed) {
+
+    private static final String DEFAULT_URL = "jdbc:postgresql://localhost:5432/gameslibrary";
+    private static final String DEFAULT_USER = "games_user";
+    private static final String DEFAULT_PASSWORD = "games_pass";
+
+    public DatabaseConfig {
+        if (minPoolSize < 0 || maxPoolSize < 1 || minPoolSize > maxPoolSize)
+            throw new IllegalArgumentException("Invalid pool size: min=" + minPoolSize + ", max=" + maxPoolSize);
+        if (fetchSize < 1)
+            throw new IllegalArgumentException("Invalid fetch size: " + fetchSize);
+    }
+
+    public static DatabaseConfig fromEnvironment() {
+        return new DatabaseConfig(
+                setting("url", DEFAULT_URL),
+                setting("user", DEFAULT_USER),
+                setting("password", DEFAULT_PASSWORD),
+                Integer.parseInt(setting("pool.min", "2")),
+                Integer.parseInt(setting("pool.max", "10")),
+                Duration.ofMillis(Long.parseLong(setting("pool.connection-timeout-ms", "5000"))),
+                Duration.ofMillis(Long.parseLong(setting("pool.idle-timeout-ms", "600000"))),
+                setting("pool.validation-query", "SELECT 1"),
+                Duration.ofMillis(Long.parseLong(setting("pool.leak-detection-ms", "0"))),
+                Integer.parseInt(setting("fetch-size", "1000")),
+                Boolean.parseBoolean(setting("change-feed", "true"))
+        );
+    }
+
+    private static String setting(String key, String defaultValue) {
+        String value = System.getProperty("gameslibrary.db." + key);
+        if (value == null || value.isBlank())
+            value = System.getenv("GAMESLIBRARY_DB_" + key.toUpperCase().replace('.', '_').replace('-', '_'));
+
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+}
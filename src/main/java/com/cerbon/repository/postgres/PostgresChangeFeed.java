@@ -0,0 +1,211 @@
+package com.cerbon.repository.postgres;
+
+import com.cerbon.model.GameModel;
+import com.cerbon.repository.GameChange;
+import com.cerbon.repository.GameChangeListener;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Change feed that turns PostgreSQL notifications on the games_changes channel into row-level deltas.
+ * A background thread keeps a dedicated connection listening, coalesces the notifications received
+ * in a short window, re-reads the changed rows in one query and hands the resulting changes to the
+ * registered listeners. Each statement sends one notification listing the ids it changed, or a RESET
+ * when it changed too many rows to list. When too many rows changed at once, and after reconnecting,
+ * listeners receive a single RESET change instead. {@link #start()} returns once LISTEN has taken effect,
+ * so subscribers that load their data afterwards miss no change and need no RESET on the first connect.
+ */
+public class PostgresChangeFeed implements AutoCloseable {
+    private static final String CHANNEL = "games_changes";
+    private static final int POLL_TIMEOUT_MILLIS = 1_000;
+    private static final int COALESCE_WINDOW_MILLIS = 20;
+    private static final int MAX_DELTA_ROWS = 5_000;
+    private static final long RECONNECT_DELAY_MILLIS = 5_000;
+
+    private final DatabaseConfig config;
+    private final List<GameChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final Thread worker;
+    // Counted down once the first connection attempt has finished, whether or not LISTEN took effect
+    private final CountDownLatch firstAttempt = new CountDownLatch(1);
+    private volatile boolean running = false;
+    private volatile Connection connection;
+
+    public PostgresChangeFeed(DatabaseConfig config) {
+        this.config = config;
+        this.worker = new Thread(this::run, "gameslibrary-change-feed");
+        this.worker.setDaemon(true);
+    }
+
+    public void subscribe(GameChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void unsubscribe(GameChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Starts listening and waits for the first connection attempt; subscribers should load their data after this.
+     */
+    public void start() {
+        running = true;
+        worker.start();
+        try {
+            firstAttempt.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+        closeConnection();
+    }
+
+    private void run() {
+        // Set once LISTEN was not in effect after start() returned, as changes made then were not delivered
+        boolean missedChanges = false;
+        while (running) {
+            try {
+                if (connection == null) {
+                    try {
+                        connect();
+                    } finally {
+                        firstAttempt.countDown();
+                    }
+                    if (missedChanges)
+                        publish(List.of(GameChange.reset()));
+                    missedChanges = false;
+                }
+                poll();
+
+            } catch (SQLException e) {
+                if (!running) return;
+                System.err.println("Change feed connection lost: " + e.getMessage());
+                missedChanges = true;
+                closeConnection();
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException ignored) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void connect() throws SQLException {
+        Connection conn = DriverManager.getConnection(config.url(), config.user(), config.password());
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("LISTEN " + CHANNEL);
+        }
+        connection = conn;
+    }
+
+    private void poll() throws SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        PGNotification[] first = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+        if (first == null || first.length == 0) return;
+
+        // Last operation per id wins; LinkedHashMap keeps the order in which ids first changed
+        Map<Integer, GameChange.Type> pending = new LinkedHashMap<>();
+        boolean reset = collect(first, pending);
+        PGNotification[] more;
+        while ((more = pgConnection.getNotifications(COALESCE_WINDOW_MILLIS)) != null && more.length > 0)
+            reset |= collect(more, pending);
+
+        if (reset || pending.size() > MAX_DELTA_ROWS) {
+            publish(List.of(GameChange.reset()));
+            return;
+        }
+        publish(resolve(pending));
+    }
+
+    /**
+     * Adds the ids listed by {@code notifications} to {@code pending}; returns whether one of them was a RESET.
+     * Payloads are {@code <operation>:<id>[,<id>...]}, or {@code RESET} for a statement that changed too many rows.
+     */
+    private static boolean collect(PGNotification[] notifications, Map<Integer, GameChange.Type> pending) {
+        boolean reset = false;
+        for (PGNotification notification : notifications) {
+            String payload = notification.getParameter();
+            if (GameChange.Type.RESET.name().equals(payload)) {
+                reset = true;
+                continue;
+            }
+            int separator = payload == null ? -1 : payload.indexOf(':');
+            if (separator < 0) continue;
+
+            try {
+                GameChange.Type type = GameChange.Type.valueOf(payload.substring(0, separator));
+                for (String id : payload.substring(separator + 1).split(","))
+                    // An insert that is later updated is still new to the subscribers
+                    pending.merge(Integer.parseInt(id), type,
+                            (previous, next) -> previous == GameChange.Type.INSERT && next == GameChange.Type.UPDATE ? previous : next);
+            } catch (IllegalArgumentException e) {
+                System.err.println("Ignoring malformed change notification: " + payload);
+            }
+        }
+        return reset;
+    }
+
+    private List<GameChange> resolve(Map<Integer, GameChange.Type> pending) throws SQLException {
+        List<Integer> changedIds = new ArrayList<>();
+        pending.forEach((id, type) -> {
+            if (type != GameChange.Type.DELETE) changedIds.add(id);
+        });
+
+        Map<Integer, GameModel> rows = new HashMap<>();
+        if (!changedIds.isEmpty()) {
+            String sql = "SELECT " + PostgresGamesRepository.GAME_COLUMNS + " FROM games WHERE id = ANY(?)";
+            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+                stmt.setArray(1, connection.createArrayOf("integer", changedIds.toArray()));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        GameModel game = PostgresGamesRepository.mapResultSetToGameModel(rs);
+                        rows.put(game.id(), game);
+                    }
+                }
+            }
+        }
+
+        List<GameChange> changes = new ArrayList<>(pending.size());
+        pending.forEach((id, type) -> {
+            GameModel game = rows.get(id);
+            // A row that is gone by now was deleted after the notification was sent
+            if (type == GameChange.Type.DELETE || game == null)
+                changes.add(new GameChange(GameChange.Type.DELETE, id, null));
+            else
+                changes.add(new GameChange(type, id, game));
+        });
+        return changes;
+    }
+
+    private void publish(List<GameChange> changes) {
+        for (GameChangeListener listener : listeners) {
+            try {
+                listener.onGameChanges(changes);
+            } catch (RuntimeException e) {
+                System.err.println("Change listener failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void closeConnection() {
+        Connection conn = connection;
+        connection = null;
+        if (conn == null) return;
+
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing change feed connection: " + e.getMessage());
+        }
+    }
+}
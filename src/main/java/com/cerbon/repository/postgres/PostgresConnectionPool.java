@@ -0,0 +1,383 @@
+package com.cerbon.repository.postgres;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+import java.util.logging.Logger;
+
+/**
+ * Bounded JDBC connection pool used by the PostgreSQL repository layer.
+ * Keeps between the configured minimum and maximum number of physical connections,
+ * validates connections that sat idle, retires idle connections past the idle timeout
+ * and reports connections that are held longer than the leak detection threshold.
+ * Returned connections are rolled back and made writable, and statements left open are closed;
+ * a connection whose other properties or session settings a borrower changed is closed rather
+ * than handed to the next borrower. How long each borrower waited can be observed through
+ * {@link #onConnectionWait}.
+ */
+public class PostgresConnectionPool implements DataSource, AutoCloseable {
+    private static final long VALIDATE_AFTER_IDLE_MILLIS = 30_000;
+    private static final long HOUSEKEEPING_PERIOD_MILLIS = 5_000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+    // A connection discarded by another thread frees a slot without waking the borrowers waiting for an idle one,
+    // so waiting borrowers look for a free slot again this often
+    private static final long SLOT_RECHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    // Connection setters whose effect outlives the borrow and is not undone on release
+    private static final Set<String> LASTING_SETTERS = Set.of("setTransactionIsolation", "setNetworkTimeout",
+            "setCatalog", "setSchema", "setHoldability", "setTypeMap", "setClientInfo");
+
+    private final DatabaseConfig config;
+    private final Properties connectionProperties;
+    private final BlockingDeque<PhysicalConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<Lease> leases = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed = false;
+    private volatile LongConsumer waitListener;
+
+    public PostgresConnectionPool(DatabaseConfig config) {
+        this.config = config;
+        this.connectionProperties = new Properties();
+        this.connectionProperties.setProperty("user", config.user());
+        this.connectionProperties.setProperty("password", config.password());
+        // Lets the driver fold JDBC insert batches into multi-row INSERT statements
+        this.connectionProperties.setProperty("reWriteBatchedInserts", "true");
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "gameslibrary-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.housekeeper.scheduleWithFixedDelay(this::housekeep, 0, HOUSEKEEPING_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return acquire(start + config.connectionTimeout().toNanos());
+        } finally {
+            LongConsumer listener = waitListener;
+            if (listener != null) listener.accept(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Registers a listener told, on the borrowing thread, how many nanoseconds each
+     * {@link #getConnection()} call took, including calls that timed out.
+     */
+    public void onConnectionWait(LongConsumer listener) {
+        this.waitListener = listener;
+    }
+
+    private Connection acquire(long deadline) throws SQLException {
+        while (true) {
+            if (closed) throw new SQLException("Connection pool is closed");
+
+            PhysicalConnection candidate = idle.pollFirst();
+            if (candidate == null && reserveSlot())
+                return lease(openPhysicalConnection());
+
+            if (candidate == null) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0)
+                    throw new SQLTransientConnectionException("Timed out after " + config.connectionTimeout().toMillis()
+                            + " ms waiting for a database connection (pool size " + config.maxPoolSize() + ")");
+                try {
+                    candidate = idle.pollFirst(Math.min(remaining, SLOT_RECHECK_NANOS), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while waiting for a database connection", e);
+                }
+                if (candidate == null) continue;
+            }
+
+            if (isUsable(candidate))
+                return lease(candidate);
+
+            discard(candidate);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Pooled connections always use the configured credentials");
+    }
+
+    public int getTotalConnections() {
+        return totalConnections.get();
+    }
+
+    public int getIdleConnections() {
+        return idle.size();
+    }
+
+    public int getActiveConnections() {
+        return leases.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+
+        PhysicalConnection connection;
+        while ((connection = idle.pollFirst()) != null)
+            discard(connection);
+    }
+
+    private boolean reserveSlot() {
+        while (true) {
+            int current = totalConnections.get();
+            if (current >= config.maxPoolSize()) return false;
+            if (totalConnections.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+    private PhysicalConnection openPhysicalConnection() throws SQLException {
+        try {
+            return new PhysicalConnection(DriverManager.getConnection(config.url(), connectionProperties));
+        } catch (SQLException e) {
+            totalConnections.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private boolean isUsable(PhysicalConnection connection) {
+        if (System.currentTimeMillis() - connection.lastUsedAt < VALIDATE_AFTER_IDLE_MILLIS)
+            return true;
+
+        try (Statement stmt = connection.raw.createStatement()) {
+            stmt.setQueryTimeout(VALIDATION_TIMEOUT_SECONDS);
+            stmt.execute(config.validationQuery());
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private Connection lease(PhysicalConnection connection) {
+        Lease lease = new Lease(connection, config.leakDetectionThreshold().isZero()
+                ? null
+                : new Exception("Connection acquired here"));
+        leases.add(lease);
+
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, lease);
+    }
+
+    private void release(Lease lease) {
+        leases.remove(lease);
+        PhysicalConnection connection = lease.connection;
+
+        try {
+            if (closed || connection.raw.isClosed() || lease.stateChanged) {
+                discard(connection);
+                return;
+            }
+            for (Statement statement : lease.statements)
+                statement.close();
+            if (!connection.raw.getAutoCommit()) {
+                connection.raw.rollback();
+                connection.raw.setAutoCommit(true);
+            }
+            if (connection.raw.isReadOnly())
+                connection.raw.setReadOnly(false);
+        } catch (SQLException e) {
+            discard(connection);
+            return;
+        }
+
+        connection.lastUsedAt = System.currentTimeMillis();
+        idle.offerFirst(connection);
+    }
+
+    private void discard(PhysicalConnection connection) {
+        totalConnections.decrementAndGet();
+        try {
+            connection.raw.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing pooled connection: " + e.getMessage());
+        }
+    }
+
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+
+        // Retire connections idle past the timeout, oldest first, while above the minimum
+        Iterator<PhysicalConnection> oldestFirst = idle.descendingIterator();
+        while (oldestFirst.hasNext()) {
+            PhysicalConnection connection = oldestFirst.next();
+            if (totalConnections.get() <= config.minPoolSize()) break;
+            if (now - connection.lastUsedAt > config.idleTimeout().toMillis() && idle.remove(connection))
+                discard(connection);
+        }
+
+        while (!closed && totalConnections.get() < config.minPoolSize() && reserveSlot()) {
+            try {
+                idle.offerLast(openPhysicalConnection());
+            } catch (SQLException e) {
+                System.err.println("Error filling connection pool: " + e.getMessage());
+                break;
+            }
+        }
+
+        if (!config.leakDetectionThreshold().isZero()) {
+            long threshold = config.leakDetectionThreshold().toMillis();
+            for (Lease lease : leases) {
+                if (!lease.leakReported && now - lease.acquiredAt > threshold) {
+                    lease.leakReported = true;
+                    System.err.println("Possible connection leak: connection held for " + (now - lease.acquiredAt) + " ms");
+                    lease.acquiredBy.printStackTrace();
+                }
+            }
+        }
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return DriverManager.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        DriverManager.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        DriverManager.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return DriverManager.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) return iface.cast(this);
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    private static final class PhysicalConnection {
+        private final Connection raw;
+        private volatile long lastUsedAt = System.currentTimeMillis();
+
+        private PhysicalConnection(Connection raw) {
+            this.raw = raw;
+        }
+    }
+
+    /**
+     * Handle given to callers for one borrow; closing it returns the physical connection to the pool.
+     */
+    private final class Lease implements InvocationHandler {
+        private final PhysicalConnection connection;
+        private final Exception acquiredBy;
+        private final long acquiredAt = System.currentTimeMillis();
+        private volatile boolean leakReported = false;
+        private final AtomicBoolean returned = new AtomicBoolean();
+        // Only touched by the borrowing thread, and by release once the borrower closed the connection
+        private final List<Statement> statements = new ArrayList<>();
+        // Set when the borrower changed a property or session setting that release does not reset
+        private boolean stateChanged = false;
+
+        private Lease(PhysicalConnection connection, Exception acquiredBy) {
+            this.connection = connection;
+            this.acquiredBy = acquiredBy;
+        }
+
+        // Not synchronized: a monitor held across the JDBC round trip would pin a virtual thread to its carrier,
+        // and a borrowed connection is only used by one thread at a time anyway
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (returned.compareAndSet(false, true))
+                        release(this);
+                    return null;
+                }
+                case "isClosed" -> {
+                    return returned.get() || connection.raw.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Pooled" + connection.raw;
+                }
+            }
+
+            if (returned.get())
+                throw new SQLException("Connection has already been returned to the pool");
+
+            if (LASTING_SETTERS.contains(method.getName())
+                    || (method.getName().startsWith("prepare") && args[0] instanceof String sql && changesSession(sql)))
+                stateChanged = true;
+
+            Object result;
+            try {
+                result = method.invoke(connection.raw, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+
+            if (result instanceof Statement statement) {
+                statements.add(statement);
+                // The SQL of a plain statement is only known when it runs
+                if (method.getName().equals("createStatement"))
+                    return Proxy.newProxyInstance(Statement.class.getClassLoader(), new Class<?>[]{Statement.class},
+                            (statementProxy, statementMethod, statementArgs) -> {
+                                if ((statementMethod.getName().startsWith("execute") || statementMethod.getName().equals("addBatch"))
+                                        && statementArgs != null && statementArgs[0] instanceof String sql && changesSession(sql))
+                                    stateChanged = true;
+                                try {
+                                    return statementMethod.invoke(statement, statementArgs);
+                                } catch (InvocationTargetException e) {
+                                    throw e.getCause();
+                                }
+                            });
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Whether {@code sql} changes session state that outlives its transaction, such as {@code SET} or {@code LISTEN}.
+     */
+    static boolean changesSession(String sql) {
+        String command = sql.stripLeading().toUpperCase(Locale.ROOT);
+        if (command.startsWith("SET "))
+            return !command.startsWith("SET LOCAL ") && !command.startsWith("SET TRANSACTION ");
+        return command.startsWith("RESET ") || command.startsWith("DISCARD ") || command.startsWith("LISTEN ")
+                || command.startsWith("PREPARE ") || command.contains("SET_CONFIG(");
+    }
+}
@@ -1,63 +1,273 @@
 package com.cerbon.repository.postgres;
 
+import com.cerbon.controller.GameController;
 import com.cerbon.model.GameModel;
 import com.cerbon.model.type.Gender;
 import com.cerbon.model.type.Platform;
 import com.cerbon.model.type.Status;
+import com.cerbon.repository.BulkInsertResult;
+import com.cerbon.repository.BulkInsertResult.Reason;
+import com.cerbon.repository.BulkInsertResult.RowFailure;
+import com.cerbon.repository.ConcludedGamesReport;
+import com.cerbon.repository.DuplicateGameException;
+import com.cerbon.repository.GameCriteria;
+import com.cerbon.repository.GamePageRequest;
+import com.cerbon.repository.GameSortKey;
+import com.cerbon.repository.GameUpdate;
 import com.cerbon.repository.IGamesRepository;
+import com.cerbon.repository.RepositoryException;
 
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
 import java.sql.*;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * PostgreSQL implementation of the IGamesRepository interface.
  * Handles all database operations for game entities using JDBC connections
- * to a PostgreSQL database with connection pooling and error handling.
+ * borrowed from a pooled DataSource, with error handling.
  */
 public class PostgresGamesRepository implements IGamesRepository {
-    
-    private static final String URL = "jdbc:postgresql://localhost:5432/gameslibrary";
-    private static final String USER = "games_user";
-    private static final String PASSWORD = "games_pass";
-    
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final String TITLE_PLATFORM_INDEX = "uq_games_title_platform";
+    private static final int BATCH_SIZE = 1_000;
+    private static final int COPY_THRESHOLD = 10_000;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private static final int DEFAULT_FETCH_SIZE = 1_000;
+    // Fragments shorter than a trigram are matched as title prefixes
+    private static final int MIN_FRAGMENT_LENGTH = 3;
+    // Column list of every query that returns games, in the order mapResultSetToGameModel reads them
+    static final String GAME_COLUMNS = "id, title, gender, platform, year, status, rate";
+    private static final String PREVIOUS_AND_UPDATED_COLUMNS = "previous.id, previous.title, previous.gender, " +
+            "previous.platform, previous.year, previous.status, previous.rate, " +
+            "g.id, g.title, g.gender, g.platform, g.year, g.status, g.rate";
+
+    private final DataSource dataSource;
+    private final int fetchSize;
+    private volatile Runnable errorListener;
+
+    public PostgresGamesRepository(DataSource dataSource) {
+        this(dataSource, DEFAULT_FETCH_SIZE);
+    }
+
+    public PostgresGamesRepository(DataSource dataSource, int fetchSize) {
+        this.dataSource = dataSource;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Registers a listener told, on the calling thread, whenever an operation logged a database error and
+     * returned an empty result instead of throwing.
+     */
+    public void onError(Runnable listener) {
+        this.errorListener = listener;
+    }
+
+    // Package-private so that the write-behind queue can report the errors it swallows the same way
+    void reportError() {
+        Runnable listener = errorListener;
+        if (listener != null) listener.run();
+    }
+
     private Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(URL, USER, PASSWORD);
+        return dataSource.getConnection();
     }
     
-    private GameModel mapResultSetToGameModel(ResultSet rs) throws SQLException {
+    static boolean isDuplicateTitleAndPlatform(SQLException e) {
+        return UNIQUE_VIOLATION.equals(e.getSQLState())
+                && e.getMessage() != null && e.getMessage().contains(TITLE_PLATFORM_INDEX);
+    }
+
+    /**
+     * Reads a row selected with {@link #GAME_COLUMNS}, by column position to skip the label lookups.
+     */
+    static GameModel mapResultSetToGameModel(ResultSet rs) throws SQLException {
+        return mapResultSetToGameModel(rs, 0);
+    }
+
+    /**
+     * Maps the game whose {@link #GAME_COLUMNS} start after the first {@code skipped} columns of the row.
+     */
+    private static GameModel mapResultSetToGameModel(ResultSet rs, int skipped) throws SQLException {
         return new GameModel(
-            rs.getInt("id"),
-            rs.getString("title"),
-            Gender.fromString(rs.getString("gender")),
-            Platform.fromString(rs.getString("platform")),
-            rs.getInt("year"),
-            Status.fromString(rs.getString("status")),
-            rs.getInt("rate")
+            rs.getInt(skipped + 1),
+            rs.getString(skipped + 2),
+            Gender.fromCode(rs.getShort(skipped + 3)),
+            Platform.fromCode(rs.getShort(skipped + 4)),
+            rs.getInt(skipped + 5),
+            Status.fromCode(rs.getShort(skipped + 6)),
+            rs.getInt(skipped + 7)
         );
     }
 
     @Override
-    public boolean add(GameModel game) {
-        String sql = "INSERT INTO games (title, gender, platform, year, status, rate) VALUES (?, ?, ?, ?, ?, ?)";
+    public Optional<GameModel> add(GameModel game) {
+        String sql = "INSERT INTO games (title, gender, platform, year, status, rate) VALUES (?, ?, ?, ?, ?, ?) " +
+                "RETURNING " + GAME_COLUMNS;
         
         try (Connection conn = getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setString(1, game.title());
-            stmt.setString(2, game.gender().name());
-            stmt.setString(3, game.platform().name());
+            stmt.setShort(2, game.gender().code());
+            stmt.setShort(3, game.platform().code());
             stmt.setInt(4, game.year());
-            stmt.setString(5, game.status().name());
+            stmt.setShort(5, game.status().code());
             stmt.setInt(6, game.rate());
             
-            int rowsAffected = stmt.executeUpdate();
-            return rowsAffected > 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next())
+                    return Optional.of(mapResultSetToGameModel(rs));
+            }
             
         } catch (SQLException e) {
+            if (isDuplicateTitleAndPlatform(e))
+                throw new DuplicateGameException("Duplicate title and platform: " + game.title(), e);
+
             System.err.println("Error adding game: " + e.getMessage());
-            return false;
+            reportError();
+        }
+
+        return Optional.empty();
+    }
+
+    @Override
+    public BulkInsertResult addAll(Collection<GameModel> games) {
+        List<RowFailure> failures = new ArrayList<>();
+        List<Integer> candidateIndexes = new ArrayList<>(games.size());
+        List<GameModel> candidates = new ArrayList<>(games.size());
+
+        // Only what the table cannot store is rejected here; duplicates are left to the unique index
+        int index = 0;
+        for (GameModel game : games) {
+            if (game.title() == null || game.title().isBlank())
+                failures.add(new RowFailure(index, game, Reason.INVALID, GameController.EMPTY_TITLE_MESSAGE));
+            else if (game.gender() == null || game.platform() == null || game.status() == null)
+                failures.add(new RowFailure(index, game, Reason.INVALID, GameController.MISSING_FIELDS_MESSAGE));
+            else {
+                candidateIndexes.add(index);
+                candidates.add(game);
+            }
+            index++;
+        }
+
+        if (candidates.isEmpty())
+            return new BulkInsertResult(0, failures);
+
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("CREATE TEMP TABLE games_import (ord INT, title TEXT, gender SMALLINT, " +
+                            "platform SMALLINT, year INT, status SMALLINT, rate INT) ON COMMIT DROP");
+                }
+
+                if (candidates.size() >= COPY_THRESHOLD)
+                    copyIntoStaging(conn, candidates);
+                else
+                    batchIntoStaging(conn, candidates);
+
+                // Only the first row of each key in the batch is inserted, and rows already present in games are
+                // skipped by ON CONFLICT; every row that did not make it in is reported back by ord. Keys are
+                // compared in SQL alone, with the expression of the unique index
+                String merge = "WITH first AS (" +
+                        "SELECT DISTINCT ON (lower(trim(title)), platform) * FROM games_import " +
+                        "ORDER BY lower(trim(title)), platform, ord), " +
+                        "inserted AS (" +
+                        "INSERT INTO games (title, gender, platform, year, status, rate) " +
+                        "SELECT title, gender, platform, year, status, rate FROM first ORDER BY ord " +
+                        "ON CONFLICT DO NOTHING RETURNING lower(trim(title)) AS title_key, platform) " +
+                        "SELECT i.ord FROM games_import i WHERE NOT EXISTS (SELECT 1 FROM first f JOIN inserted n " +
+                        "ON n.title_key = lower(trim(f.title)) AND n.platform = f.platform WHERE f.ord = i.ord) " +
+                        "ORDER BY i.ord";
+                int skipped = 0;
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery(merge)) {
+                    while (rs.next()) {
+                        int ord = rs.getInt(1);
+                        failures.add(new RowFailure(candidateIndexes.get(ord), candidates.get(ord), Reason.DUPLICATE,
+                                GameController.DUPLICATE_GAME_MESSAGE));
+                        skipped++;
+                    }
+                }
+
+                conn.commit();
+                failures.sort(Comparator.comparingInt(RowFailure::index));
+                return new BulkInsertResult(candidates.size() - skipped, failures);
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+
+        } catch (SQLException e) {
+            // The whole chunk was rolled back: none of its rows was rejected, so they are reported as retryable
+            System.err.println("Error adding games in bulk: " + e.getMessage());
+            reportError();
+            for (int i = 0; i < candidates.size(); i++)
+                failures.add(new RowFailure(candidateIndexes.get(i), candidates.get(i), Reason.STORAGE,
+                        "Erro ao adicionar jogo no banco de dados"));
+            failures.sort(Comparator.comparingInt(RowFailure::index));
+            return new BulkInsertResult(0, failures);
+        }
+    }
+
+    private void batchIntoStaging(Connection conn, List<GameModel> games) throws SQLException {
+        String sql = "INSERT INTO games_import (ord, title, gender, platform, year, status, rate) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < games.size(); i++) {
+                GameModel game = games.get(i);
+                stmt.setInt(1, i);
+                stmt.setString(2, game.title());
+                stmt.setShort(3, game.gender().code());
+                stmt.setShort(4, game.platform().code());
+                stmt.setInt(5, game.year());
+                stmt.setShort(6, game.status().code());
+                stmt.setInt(7, game.rate());
+                stmt.addBatch();
+
+                if ((i + 1) % BATCH_SIZE == 0)
+                    stmt.executeBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private void copyIntoStaging(Connection conn, List<GameModel> games) throws SQLException {
+        CopyIn copy = conn.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("COPY games_import (ord, title, gender, platform, year, status, rate) FROM STDIN WITH (FORMAT csv)");
+
+        try {
+            StringBuilder chunk = new StringBuilder(COPY_BUFFER_SIZE + 512);
+            for (int i = 0; i < games.size(); i++) {
+                GameModel game = games.get(i);
+                chunk.append(i).append(',')
+                        .append('"').append(game.title().replace("\"", "\"\"")).append('"').append(',')
+                        .append(game.gender().code()).append(',')
+                        .append(game.platform().code()).append(',')
+                        .append(game.year()).append(',')
+                        .append(game.status().code()).append(',')
+                        .append(game.rate()).append('\n');
+
+                if (chunk.length() >= COPY_BUFFER_SIZE) {
+                    byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+                    copy.writeToCopy(bytes, 0, bytes.length);
+                    chunk.setLength(0);
+                }
+            }
+            byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+            copy.writeToCopy(bytes, 0, bytes.length);
+            copy.endCopy();
+
+        } finally {
+            if (copy.isActive())
+                copy.cancelCopy();
         }
     }
 
@@ -74,41 +284,102 @@ public class PostgresGamesRepository implements IGamesRepository {
             
         } catch (SQLException e) {
             System.err.println("Error deleting game: " + e.getMessage());
+            reportError();
             return false;
         }
     }
 
     @Override
-    public GameModel update(GameModel game) {
-        String sql = "UPDATE games SET title = ?, gender = ?, platform = ?, year = ?, status = ?, rate = ? WHERE id = ?";
+    public Optional<GameModel> update(GameModel game) {
+        String sql = "UPDATE games SET title = ?, gender = ?, platform = ?, year = ?, status = ?, rate = ? WHERE id = ? " +
+                "RETURNING " + GAME_COLUMNS;
         
         try (Connection conn = getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setString(1, game.title());
-            stmt.setString(2, game.gender().name());
-            stmt.setString(3, game.platform().name());
+            stmt.setShort(2, game.gender().code());
+            stmt.setShort(3, game.platform().code());
             stmt.setInt(4, game.year());
-            stmt.setString(5, game.status().name());
+            stmt.setShort(5, game.status().code());
             stmt.setInt(6, game.rate());
             stmt.setInt(7, game.id());
             
-            int rowsAffected = stmt.executeUpdate();
-            if (rowsAffected > 0) {
-                Optional<GameModel> updatedGame = getById(game.id());
-                return updatedGame.orElseThrow();
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next())
+                    return Optional.of(mapResultSetToGameModel(rs));
+            }
+
+        } catch (SQLException e) {
+            if (isDuplicateTitleAndPlatform(e))
+                throw new DuplicateGameException("Duplicate title and platform: " + game.title(), e);
+
+            System.err.println("Error updating game: " + e.getMessage());
+            reportError();
+        }
+
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<GameModel> deleteReturningPrevious(int id) {
+        String sql = "DELETE FROM games WHERE id = ? RETURNING " + GAME_COLUMNS;
+
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, id);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next())
+                    return Optional.of(mapResultSetToGameModel(rs));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error deleting game: " + e.getMessage());
+            reportError();
+        }
+
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<GameUpdate> updateReturningPrevious(GameModel game) {
+        // The row is locked by the CTE, so the version read is the one the update replaces
+        String sql = "WITH previous AS (SELECT " + GAME_COLUMNS + " FROM games WHERE id = ? FOR UPDATE) " +
+                "UPDATE games g SET title = ?, gender = ?, platform = ?, year = ?, status = ?, rate = ? " +
+                "FROM previous WHERE g.id = previous.id RETURNING " + PREVIOUS_AND_UPDATED_COLUMNS;
+
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, game.id());
+            stmt.setString(2, game.title());
+            stmt.setShort(3, game.gender().code());
+            stmt.setShort(4, game.platform().code());
+            stmt.setInt(5, game.year());
+            stmt.setShort(6, game.status().code());
+            stmt.setInt(7, game.rate());
 
-            } else return game;
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next())
+                    return Optional.of(new GameUpdate(mapResultSetToGameModel(rs, 0), mapResultSetToGameModel(rs, 7)));
+            }
 
         } catch (SQLException e) {
+            if (isDuplicateTitleAndPlatform(e))
+                throw new DuplicateGameException("Duplicate title and platform: " + game.title(), e);
+
             System.err.println("Error updating game: " + e.getMessage());
-            return game;
+            reportError();
         }
+
+        return Optional.empty();
     }
 
     @Override
     public Optional<GameModel> getById(int id) {
-        String sql = "SELECT id, title, gender, platform, year, status, rate FROM games WHERE id = ?";
+        String sql = "SELECT " + GAME_COLUMNS + " FROM games WHERE id = ?";
         
         try (Connection conn = getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -124,6 +395,7 @@ public class PostgresGamesRepository implements IGamesRepository {
             
         } catch (SQLException e) {
             System.err.println("Error getting game by id: " + e.getMessage());
+            reportError();
         }
         
         return Optional.empty();
@@ -131,7 +403,7 @@ public class PostgresGamesRepository implements IGamesRepository {
 
     @Override
     public List<GameModel> getAll() {
-        String sql = "SELECT id, title, gender, platform, year, status, rate FROM games";
+        String sql = "SELECT " + GAME_COLUMNS + " FROM games";
         List<GameModel> games = new ArrayList<>();
         
         try (Connection conn = getConnection();
@@ -145,8 +417,235 @@ public class PostgresGamesRepository implements IGamesRepository {
             
         } catch (SQLException e) {
             System.err.println("Error getting all games: " + e.getMessage());
+            reportError();
         }
         
         return games;
     }
+
+    @Override
+    public long streamAll(Consumer<? super GameModel> consumer) {
+        String sql = "SELECT " + GAME_COLUMNS + " FROM games ORDER BY id";
+        long count = 0;
+
+        // The driver only uses a server-side cursor (fetching fetchSize rows at a time) inside a transaction;
+        // a read-only one, so the long-lived snapshot never holds write locks
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            conn.setReadOnly(true);
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                stmt.setFetchSize(fetchSize);
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        consumer.accept(mapResultSetToGameModel(rs));
+                        count++;
+                    }
+                }
+            } finally {
+                conn.rollback();
+            }
+
+        } catch (SQLException e) {
+            // Part of the rows may already be consumed, so an empty result would be misleading
+            throw new RepositoryException("Error streaming games after " + count + " rows: " + e.getMessage(), e);
+        }
+
+        return count;
+    }
+
+    @Override
+    public List<GameModel> find(GameCriteria criteria) {
+        if (criteria.isEmpty()) return getAll();
+
+        StringBuilder sql = new StringBuilder("SELECT " + GAME_COLUMNS + " FROM games WHERE TRUE");
+        List<Object> parameters = new ArrayList<>(3);
+        appendCriteria(sql, parameters, criteria);
+
+        try {
+            return query(sql.toString(), parameters);
+        } catch (SQLException e) {
+            System.err.println("Error finding games: " + e.getMessage());
+            reportError();
+            return new ArrayList<>();
+        }
+    }
+
+    @Override
+    public List<GameModel> getPage(GamePageRequest request) {
+        String column = sortColumn(request.sortKey());
+        String direction = request.descending() ? " DESC" : "";
+        String comparison = request.descending() ? " < " : " > ";
+
+        StringBuilder sql = new StringBuilder("SELECT " + GAME_COLUMNS + " FROM games WHERE TRUE");
+        List<Object> parameters = new ArrayList<>(6);
+        appendCriteria(sql, parameters, request.criteria());
+
+        // Keyset condition: resume right after the last row of the previous page
+        GameModel after = request.after();
+        if (after != null && request.sortKey() == GameSortKey.ID) {
+            sql.append(" AND id").append(comparison).append('?');
+            parameters.add(after.id());
+        } else if (after != null) {
+            sql.append(" AND (").append(column).append(", id)").append(comparison).append("(?, ?)");
+            parameters.add(sortValue(request.sortKey(), after));
+            parameters.add(after.id());
+        }
+
+        if (request.sortKey() != GameSortKey.ID)
+            sql.append(" ORDER BY ").append(column).append(direction).append(", id").append(direction);
+        else
+            sql.append(" ORDER BY id").append(direction);
+        sql.append(" LIMIT ?");
+        parameters.add(request.limit());
+
+        try {
+            return query(sql.toString(), parameters);
+        } catch (SQLException e) {
+            System.err.println("Error getting games page: " + e.getMessage());
+            reportError();
+            return new ArrayList<>();
+        }
+    }
+
+    @Override
+    public List<GameModel> searchByTitle(String fragment, int limit) {
+        String normalized = fragment.trim().toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty() || limit <= 0) return new ArrayList<>();
+
+        String escaped = normalized.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        String prefix = escaped + "%";
+        // Prefix matches come first: idx_games_lower_title_c walks them in result order and stops at the limit
+        String byPrefix = "SELECT " + GAME_COLUMNS + " FROM games " +
+                "WHERE lower(title) COLLATE \"C\" LIKE ? ORDER BY lower(title) COLLATE \"C\", id LIMIT ?";
+        // Then, only when the page is not full, titles containing it elsewhere, found through idx_games_title_trgm;
+        // shorter fragments only make sense as prefixes
+        String byFragment = "SELECT " + GAME_COLUMNS + " FROM games " +
+                "WHERE lower(title) LIKE ? AND lower(title) COLLATE \"C\" NOT LIKE ? " +
+                "ORDER BY lower(title) COLLATE \"C\", id LIMIT ?";
+
+        try {
+            List<GameModel> games = query(byPrefix, List.of(prefix, limit));
+            if (games.size() < limit && normalized.length() >= MIN_FRAGMENT_LENGTH)
+                games.addAll(query(byFragment, List.of("%" + escaped + "%", prefix, limit - games.size())));
+            return games;
+        } catch (SQLException e) {
+            System.err.println("Error searching games by title: " + e.getMessage());
+            reportError();
+            return new ArrayList<>();
+        }
+    }
+
+    private static void appendCriteria(StringBuilder sql, List<Object> parameters, GameCriteria criteria) {
+        if (criteria.gender() != null) {
+            sql.append(" AND gender = ?");
+            parameters.add(criteria.gender().code());
+        }
+        if (criteria.platform() != null) {
+            sql.append(" AND platform = ?");
+            parameters.add(criteria.platform().code());
+        }
+        if (criteria.status() != null) {
+            sql.append(" AND status = ?");
+            parameters.add(criteria.status().code());
+        }
+    }
+
+    private static String sortColumn(GameSortKey sortKey) {
+        return switch (sortKey) {
+            case ID -> "id";
+            // Byte order, which GameSortKey.TITLE reproduces in memory; the locale collation could not be matched
+            case TITLE -> "title COLLATE \"C\"";
+            case GENDER -> "gender";
+            case PLATFORM -> "platform";
+            case YEAR -> "year";
+            case STATUS -> "status";
+            case RATE -> "rate";
+        };
+    }
+
+    private static Object sortValue(GameSortKey sortKey, GameModel game) {
+        return switch (sortKey) {
+            case ID -> game.id();
+            case TITLE -> game.title();
+            case GENDER -> game.gender().code();
+            case PLATFORM -> game.platform().code();
+            case YEAR -> game.year();
+            case STATUS -> game.status().code();
+            case RATE -> game.rate();
+        };
+    }
+
+    private List<GameModel> query(String sql, List<Object> parameters) throws SQLException {
+        List<GameModel> games = new ArrayList<>();
+
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            for (int i = 0; i < parameters.size(); i++)
+                stmt.setObject(i + 1, parameters.get(i));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next())
+                    games.add(mapResultSetToGameModel(rs));
+            }
+        }
+
+        return games;
+    }
+
+    @Override
+    public ConcludedGamesReport getConcludedReport() {
+        // One pass over the concluded rows; GROUPING(platform) = 1 marks the per-gender rows
+        String sql = "SELECT GROUPING(platform) AS by_gender, platform, gender, COUNT(*) AS total " +
+                "FROM games WHERE status = ? GROUP BY GROUPING SETS ((platform), (gender))";
+        Map<Platform, Long> byPlatform = new EnumMap<>(Platform.class);
+        Map<Gender, Long> byGender = new EnumMap<>(Gender.class);
+
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setShort(1, Status.CONCLUDED.code());
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    long total = rs.getLong("total");
+                    if (rs.getInt("by_gender") == 1)
+                        byGender.merge(Gender.fromCode(rs.getShort("gender")), total, Long::sum);
+                    else
+                        byPlatform.merge(Platform.fromCode(rs.getShort("platform")), total, Long::sum);
+                }
+            }
+
+        } catch (SQLException e) {
+            // Not an empty report: counters rebuilt from it would read zero until the next rebuild
+            throw new RepositoryException("Error getting concluded games report: " + e.getMessage(), e);
+        }
+
+        return new ConcludedGamesReport(byPlatform, byGender);
+    }
+
+    @Override
+    public boolean existsByTitleAndPlatform(String title, Platform platform, int excludedId) {
+        // Same expression as uq_games_title_platform so the lookup is an index probe
+        String sql = "SELECT EXISTS (SELECT 1 FROM games WHERE lower(trim(title)) = lower(trim(?)) AND platform = ? AND id <> ?)";
+
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, title);
+            stmt.setShort(2, platform.code());
+            stmt.setInt(3, excludedId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error checking for duplicate game: " + e.getMessage());
+            reportError();
+            return false;
+        }
+    }
 }
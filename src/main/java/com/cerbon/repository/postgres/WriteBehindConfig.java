@@ -0,0 +1,34 @@
+package com.cerbon.repository.postgres;
+
+import java.time.Duration;
+
+/**
+ * Immutable configuration for the optional write-behind mode of the PostgreSQL repository.
+ * Values are resolved from system properties ({@code gameslibrary.write-behind.*}) or environment
+ * variables ({@code GAMESLIBRARY_WRITE_BEHIND_*}), falling back to the defaults.
+ */
+public record WriteBehindConfig(boolean enabled, int maxPending, int batchSize, Duration flushInterval) {
+    public WriteBehindConfig {
+        if (batchSize < 1 || maxPending < batchSize)
+            throw new IllegalArgumentException("Invalid write-behind sizes: batch=" + batchSize + ", max pending=" + maxPending);
+        if (flushInterval.isNegative() || flushInterval.isZero())
+            throw new IllegalArgumentException("Invalid write-behind flush interval: " + flushInterval);
+    }
+
+    public static WriteBehindConfig fromEnvironment() {
+        return new WriteBehindConfig(
+                Boolean.parseBoolean(setting("enabled", "false")),
+                Integer.parseInt(setting("max-pending", "10000")),
+                Integer.parseInt(setting("batch-size", "500")),
+                Duration.ofMillis(Long.parseLong(setting("flush-interval-ms", "50")))
+        );
+    }
+
+    private static String setting(String key, String defaultValue) {
+        String value = System.getProperty("gameslibrary.write-behind." + key);
+        if (value == null || value.isBlank())
+            value = System.getenv("GAMESLIBRARY_WRITE_BEHIND_" + key.toUpperCase().replace('-', '_'));
+
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+}
@@ -0,0 +1,562 @@
+package com.cerbon.repository.postgres;
+
+import com.cerbon.model.GameModel;
+import com.cerbon.model.type.Platform;
+import com.cerbon.repository.*;
+import com.cerbon.repository.memory.GameCatalog;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Write-behind decorator for the PostgreSQL repository.
+ * Adds, updates and deletes are queued; a background writer commits them in batched transactions
+ * once the batch size is reached or the flush interval has passed. Queued writes to the same id are
+ * coalesced: later updates replace earlier ones, and an insert followed by a delete never reaches the
+ * database. Ids for new games are reserved from the table's sequence in blocks. The submit methods
+ * return futures that complete once the write is committed, while the {@link IGamesRepository} write
+ * methods wait for that commit, so concurrent callers share transactions but only ever see the outcome
+ * of writes that really happened. Reads that the queue cannot answer wait for the pending writes to be
+ * committed first.
+ */
+public class WriteBehindGamesRepository implements IGamesRepository, AutoCloseable {
+    private static final int ID_BLOCK_SIZE = 100;
+
+    private final PostgresGamesRepository delegate;
+    private final DataSource dataSource;
+    private final WriteBehindConfig config;
+    private final Thread writer;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final Condition flushWanted = lock.newCondition();
+    // Guarded by lock
+    private LinkedHashMap<Integer, PendingWrite> pending = new LinkedHashMap<>();
+    private CompletableFuture<Void> pendingCommitted = new CompletableFuture<>();
+    private CompletableFuture<Void> inFlightCommitted = CompletableFuture.completedFuture(null);
+    private long firstPendingAt = 0;
+    private boolean flushRequested = false;
+    private boolean closing = false;
+
+    // A lock rather than a monitor: it is held across the query reserving a block, which would pin a virtual thread
+    private final ReentrantLock idLock = new ReentrantLock();
+    // Guarded by idLock
+    private final Deque<Integer> reservedIds = new ArrayDeque<>();
+    private volatile Runnable failureListener;
+    private volatile FlushListener flushListener;
+
+    public WriteBehindGamesRepository(PostgresGamesRepository delegate, DataSource dataSource, WriteBehindConfig config) {
+        this.delegate = delegate;
+        this.dataSource = dataSource;
+        this.config = config;
+        this.writer = new Thread(this::runWriter, "gameslibrary-write-behind");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues an insert; the future completes with the stored game, including its id, once committed.
+     */
+    public CompletableFuture<GameModel> submitAdd(GameModel game) {
+        CompletableFuture<GameModel> committed = new CompletableFuture<>();
+        try {
+            GameModel stored = withReservedId(game);
+            enqueue(stored.id(), PendingWrite.Type.INSERT, stored, committed, null);
+        } catch (SQLException e) {
+            committed.completeExceptionally(new RepositoryException("Error reserving a game id: " + e.getMessage(), e));
+        }
+        return committed;
+    }
+
+    public CompletableFuture<GameModel> submitUpdate(GameModel game) {
+        CompletableFuture<GameModel> committed = new CompletableFuture<>();
+        enqueue(game.id(), PendingWrite.Type.UPDATE, game, committed, null);
+        return committed;
+    }
+
+    /**
+     * Queues a delete; the future completes with whether the game existed once committed.
+     */
+    public CompletableFuture<Boolean> submitDelete(int id) {
+        CompletableFuture<Boolean> committed = new CompletableFuture<>();
+        enqueue(id, PendingWrite.Type.DELETE, null, null, committed);
+        return committed;
+    }
+
+    /**
+     * Registers a listener told, on the writer thread, how long each batch took and how many of its writes
+     * were committed and failed. Failures are otherwise only seen by the callers still waiting on them.
+     */
+    public void onFlush(FlushListener listener) {
+        this.flushListener = listener;
+    }
+
+    /**
+     * Registers a listener run on the writer thread after queued writes failed, so that the layers above,
+     * which may have acted on a submitted write before it was rejected, can drop what they hold.
+     */
+    public void onWriteFailure(Runnable listener) {
+        this.failureListener = listener;
+    }
+
+    /**
+     * Asks the writer to commit everything queued so far; the future completes when it has.
+     */
+    public CompletableFuture<Void> flush() {
+        lock.lock();
+        try {
+            if (pending.isEmpty()) return inFlightCommitted;
+
+            flushRequested = true;
+            flushWanted.signal();
+            return pendingCommitted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<GameModel> add(GameModel game) {
+        return Optional.ofNullable(await(submitAdd(game), "adding game " + game.title()));
+    }
+
+    @Override
+    public BulkInsertResult addAll(Collection<GameModel> games) {
+        // Bulk inserts are already batched; they only have to land after the queued writes
+        flush().join();
+        return delegate.addAll(games);
+    }
+
+    @Override
+    public boolean delete(int id) {
+        return Boolean.TRUE.equals(await(submitDelete(id), "deleting game " + id));
+    }
+
+    @Override
+    public Optional<GameModel> update(GameModel game) {
+        return Optional.ofNullable(await(submitUpdate(game), "updating game " + game.id()));
+    }
+
+    @Override
+    public Optional<GameModel> getById(int id) {
+        lock.lock();
+        try {
+            PendingWrite write = pending.get(id);
+            if (write != null)
+                return write.type == PendingWrite.Type.DELETE ? Optional.empty() : Optional.of(write.game);
+        } finally {
+            lock.unlock();
+        }
+
+        flush().join();
+        return delegate.getById(id);
+    }
+
+    @Override
+    public List<GameModel> getAll() {
+        flush().join();
+        return delegate.getAll();
+    }
+
+    @Override
+    public long streamAll(Consumer<? super GameModel> consumer) {
+        flush().join();
+        return delegate.streamAll(consumer);
+    }
+
+    @Override
+    public List<GameModel> find(GameCriteria criteria) {
+        flush().join();
+        return delegate.find(criteria);
+    }
+
+    @Override
+    public List<GameModel> getPage(GamePageRequest request) {
+        flush().join();
+        return delegate.getPage(request);
+    }
+
+    @Override
+    public ConcludedGamesReport getConcludedReport() {
+        flush().join();
+        return delegate.getConcludedReport();
+    }
+
+    @Override
+    public boolean existsByTitleAndPlatform(String title, Platform platform, int excludedId) {
+        // Answered from the queue plus the table, unless a queued write could hide a row the table still has
+        String key = GameCatalog.titleKey(title, platform);
+        boolean mayShadowTable = false;
+        lock.lock();
+        try {
+            for (PendingWrite write : pending.values()) {
+                if (write.type == PendingWrite.Type.DELETE || write.type == PendingWrite.Type.UPDATE)
+                    mayShadowTable = true;
+                if (write.type != PendingWrite.Type.DELETE && write.game.id() != excludedId
+                        && GameCatalog.titleKey(write.game.title(), write.game.platform()).equals(key))
+                    return true;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (mayShadowTable) flush().join();
+        else inFlightCommitted().join();
+        return delegate.existsByTitleAndPlatform(title, platform, excludedId);
+    }
+
+    @Override
+    public List<GameModel> searchByTitle(String fragment, int limit) {
+        flush().join();
+        return delegate.searchByTitle(fragment, limit);
+    }
+
+    /**
+     * Commits every queued write and stops the writer.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closing = true;
+            flushWanted.signal();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void enqueue(int id, PendingWrite.Type type, GameModel game,
+                         CompletableFuture<GameModel> gameCommitted, CompletableFuture<Boolean> deleteCommitted) {
+        lock.lock();
+        try {
+            while (pending.size() >= config.maxPending() && !pending.containsKey(id) && !closing)
+                notFull.awaitUninterruptibly();
+            if (closing)
+                throw new RepositoryException("Write-behind queue is closed", null);
+
+            PendingWrite write = pending.get(id);
+            if (write != null && write.type == PendingWrite.Type.DELETE && type != PendingWrite.Type.DELETE) {
+                if (gameCommitted != null) gameCommitted.completeExceptionally(new GameNotFoundException(id));
+                return;
+            }
+
+            if (write == null) {
+                write = new PendingWrite(id, type, game);
+                pending.put(id, write);
+            } else {
+                write.merge(type, game);
+            }
+            if (gameCommitted != null) write.gameAcks.add(gameCommitted);
+            if (deleteCommitted != null) write.deleteAcks.add(deleteCommitted);
+
+            // An insert followed by a delete cancels out: nothing has to reach the database
+            if (write.type == null) {
+                pending.remove(id);
+                write.complete(true);
+                return;
+            }
+
+            if (pending.size() == 1) {
+                firstPendingAt = System.nanoTime();
+                flushWanted.signal();
+            } else if (pending.size() >= config.batchSize()) {
+                flushWanted.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private CompletableFuture<Void> inFlightCommitted() {
+        lock.lock();
+        try {
+            return inFlightCommitted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void runWriter() {
+        while (true) {
+            Map<Integer, PendingWrite> batch;
+            CompletableFuture<Void> batchCommitted;
+
+            lock.lock();
+            try {
+                if (pending.isEmpty()) {
+                    if (closing) return;
+                    flushWanted.awaitUninterruptibly();
+                    continue;
+                }
+
+                long wait = firstPendingAt + config.flushInterval().toNanos() - System.nanoTime();
+                if (pending.size() < config.batchSize() && !flushRequested && !closing && wait > 0) {
+                    flushWanted.awaitNanos(wait);
+                    continue;
+                }
+
+                batch = pending;
+                batchCommitted = pendingCommitted;
+                pending = new LinkedHashMap<>();
+                pendingCommitted = new CompletableFuture<>();
+                inFlightCommitted = batchCommitted;
+                flushRequested = false;
+                notFull.signalAll();
+            } catch (InterruptedException e) {
+                continue;
+            } finally {
+                lock.unlock();
+            }
+
+            long start = System.nanoTime();
+            try {
+                write(batch.values());
+            } catch (RuntimeException e) {
+                System.err.println("Write-behind flush failed: " + e);
+                batch.values().forEach(write -> write.fail(e));
+            } finally {
+                batchCommitted.complete(null);
+            }
+            long elapsed = System.nanoTime() - start;
+            int failed = (int) batch.values().stream().filter(write -> write.failed).count();
+
+            FlushListener flushed = flushListener;
+            if (flushed != null) {
+                try {
+                    flushed.flushed(elapsed, batch.size() - failed, failed);
+                } catch (RuntimeException e) {
+                    System.err.println("Flush listener failed: " + e.getMessage());
+                }
+            }
+
+            Runnable listener = failureListener;
+            if (listener != null && failed > 0) {
+                try {
+                    listener.run();
+                } catch (RuntimeException e) {
+                    System.err.println("Write failure listener failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Commits a batch in one transaction; if that fails, commits its writes one by one so that
+     * only the writes that are actually rejected fail.
+     */
+    private void write(Collection<PendingWrite> batch) {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                Map<PendingWrite, Boolean> results = apply(conn, batch);
+                conn.commit();
+                results.forEach(PendingWrite::complete);
+                return;
+            } catch (SQLException e) {
+                conn.rollback();
+                conn.setAutoCommit(true);
+            }
+
+            for (PendingWrite write : batch) {
+                try {
+                    apply(conn, List.of(write)).forEach(PendingWrite::complete);
+                } catch (SQLException e) {
+                    write.fail(PostgresGamesRepository.isDuplicateTitleAndPlatform(e)
+                            ? new DuplicateGameException("Duplicate title and platform: " + write.game.title(), e)
+                            : new RepositoryException("Error writing game " + write.id + ": " + e.getMessage(), e));
+                }
+            }
+
+        } catch (SQLException e) {
+            RepositoryException failure = new RepositoryException("Error writing queued games: " + e.getMessage(), e);
+            batch.forEach(write -> write.fail(failure));
+        }
+    }
+
+    /**
+     * Runs the deletes, then the updates, then the inserts of {@code writes} on {@code conn}, and tells
+     * for each write whether its row existed; writes that cannot be applied are failed directly.
+     */
+    private Map<PendingWrite, Boolean> apply(Connection conn, Collection<PendingWrite> writes) throws SQLException {
+        Map<PendingWrite, Boolean> results = new LinkedHashMap<>();
+        List<PendingWrite> deletes = new ArrayList<>();
+        List<PendingWrite> updates = new ArrayList<>();
+        List<PendingWrite> inserts = new ArrayList<>();
+        for (PendingWrite write : writes) {
+            switch (write.type) {
+                case DELETE -> deletes.add(write);
+                case UPDATE -> updates.add(write);
+                case INSERT -> inserts.add(write);
+            }
+        }
+
+        if (!deletes.isEmpty()) {
+            Set<Integer> deleted = new HashSet<>();
+            try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM games WHERE id = ANY(?) RETURNING id")) {
+                stmt.setArray(1, conn.createArrayOf("integer", deletes.stream().map(write -> write.id).toArray()));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) deleted.add(rs.getInt(1));
+                }
+            }
+            deletes.forEach(write -> results.put(write, deleted.contains(write.id)));
+        }
+
+        if (!updates.isEmpty()) {
+            String sql = "UPDATE games SET title = ?, gender = ?, platform = ?, year = ?, status = ?, rate = ? WHERE id = ?";
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (PendingWrite write : updates) {
+                    setGame(stmt, write.game);
+                    stmt.setInt(7, write.id);
+                    stmt.addBatch();
+                }
+                int[] counts = stmt.executeBatch();
+                for (int i = 0; i < updates.size(); i++) {
+                    if (counts[i] == 0)
+                        updates.get(i).fail(new GameNotFoundException(updates.get(i).id));
+                    else
+                        results.put(updates.get(i), true);
+                }
+            }
+        }
+
+        if (!inserts.isEmpty()) {
+            String sql = "INSERT INTO games (title, gender, platform, year, status, rate, id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (PendingWrite write : inserts) {
+                    setGame(stmt, write.game);
+                    stmt.setInt(7, write.id);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+            inserts.forEach(write -> results.put(write, false));
+        }
+        return results;
+    }
+
+    private static void setGame(PreparedStatement stmt, GameModel game) throws SQLException {
+        stmt.setString(1, game.title());
+        stmt.setShort(2, game.gender().code());
+        stmt.setShort(3, game.platform().code());
+        stmt.setInt(4, game.year());
+        stmt.setShort(5, game.status().code());
+        stmt.setInt(6, game.rate());
+    }
+
+    private GameModel withReservedId(GameModel game) throws SQLException {
+        int id;
+        idLock.lock();
+        try {
+            if (reservedIds.isEmpty()) {
+                String sql = "SELECT nextval(pg_get_serial_sequence('games', 'id')) FROM generate_series(1, ?)";
+                try (Connection conn = dataSource.getConnection();
+                     PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setInt(1, ID_BLOCK_SIZE);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) reservedIds.add(rs.getInt(1));
+                    }
+                }
+            }
+            id = reservedIds.removeFirst();
+        } finally {
+            idLock.unlock();
+        }
+        return new GameModel(id, game.title(), game.gender(), game.platform(), game.year(), game.status(), game.rate());
+    }
+
+    /**
+     * Waits for a queued write to be committed and returns its result. A duplicate is thrown, as the PostgreSQL
+     * repository does; a missing game or any other failure returns null, the latter after being logged.
+     */
+    private <T> T await(CompletableFuture<T> committed, String action) {
+        try {
+            return committed.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof DuplicateGameException duplicate) throw duplicate;
+            if (!(e.getCause() instanceof GameNotFoundException)) {
+                System.err.println("Write-behind error " + action + ": " + e.getCause().getMessage());
+                delegate.reportError();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Receives the outcome of each batch the writer thread committed.
+     */
+    @FunctionalInterface
+    public interface FlushListener {
+        void flushed(long elapsedNanos, int committed, int failed);
+    }
+
+    /**
+     * Failure of an update or delete whose game is not in the table, or was deleted by an earlier queued write.
+     */
+    private static final class GameNotFoundException extends RepositoryException {
+        private GameNotFoundException(int id) {
+            super("Game not found: " + id, null);
+        }
+    }
+
+    /**
+     * Net effect of the queued writes to one game id, with the futures of every write folded into it.
+     */
+    private static final class PendingWrite {
+        enum Type {
+            INSERT,
+            UPDATE,
+            DELETE
+        }
+
+        private final int id;
+        // Null once an insert was cancelled by a delete
+        private Type type;
+        // Latest version written; kept on delete for the acknowledgements of earlier updates
+        private GameModel game;
+        private final List<CompletableFuture<GameModel>> gameAcks = new ArrayList<>(1);
+        private final List<CompletableFuture<Boolean>> deleteAcks = new ArrayList<>(0);
+        // Written and read by the writer thread only
+        private boolean failed;
+
+        private PendingWrite(int id, Type type, GameModel game) {
+            this.id = id;
+            this.type = type;
+            this.game = game;
+        }
+
+        private void merge(Type next, GameModel nextGame) {
+            if (next == Type.DELETE) {
+                type = type == Type.INSERT ? null : Type.DELETE;
+            } else {
+                game = nextGame;
+                // An update of a queued insert is still an insert
+                if (type != Type.INSERT) type = Type.UPDATE;
+            }
+        }
+
+        private void complete(boolean deleted) {
+            gameAcks.forEach(ack -> ack.complete(game));
+            deleteAcks.forEach(ack -> ack.complete(deleted));
+        }
+
+        private void fail(Throwable error) {
+            failed = true;
+            gameAcks.forEach(ack -> ack.completeExceptionally(error));
+            deleteAcks.forEach(ack -> ack.completeExceptionally(error));
+        }
+    }
+}
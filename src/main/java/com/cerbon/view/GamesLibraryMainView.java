@@ -6,36 +6,52 @@ import com.cerbon.model.type.Platform;
 import com.cerbon.model.type.Status;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
-import javax.swing.table.TableModel;
-import javax.swing.table.TableRowSorter;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
 import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.function.Predicate;
 
 /**
  * Main application window for the Games Library application.
- * Provides a comprehensive interface with a sortable table for displaying games,
+ * Provides a comprehensive interface with a lazily loaded, sortable table for displaying games,
  * filtering capabilities, and action buttons for managing game data and generating reports.
  */
 public class GamesLibraryMainView extends JFrame {
     // GUI Components
+    private static final int PAGE_SIZE = 200;
+    // Typing pause after which the title search runs
+    private static final int SEARCH_DELAY_MILLIS = 250;
+
     private JTable gamesTable;
-    private DefaultTableModel tableModel;
+    private GamesTableModel tableModel;
+    private JScrollPane tableScrollPane;
 
     // Filter components
     private JComboBox<Gender> genderFilter;
     private JComboBox<Platform> platformFilter;
     private JComboBox<Status> statusFilter;
+    private JTextField searchField;
+    private Timer searchTimer;
     
     // Buttons
     private JButton addButton;
     private JButton editButton;
     private JButton deleteButton;
     private JButton reportButton;
+    private JButton importButton;
     private JButton applyFiltersButton;
     private JButton clearFiltersButton;
     private JButton refreshButton;
+
+    // Shown while background operations are running
+    private JProgressBar busyIndicator;
+    private int busyCount = 0;
     
     public GamesLibraryMainView() {
         initializeComponents();
@@ -50,21 +66,11 @@ public class GamesLibraryMainView extends JFrame {
         setSize(1000, 700);
         setLocationRelativeTo(null);
         
-        // Table setup with sortable columns
-        String[] columnNames = {"ID", "Título", "Gênero", "Plataforma", "Ano", "Status", "Avaliação"};
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Make table read-only
-            }
-        };
-        
+        // Table setup; rows are loaded page by page and sorted by the data source
+        tableModel = new GamesTableModel(PAGE_SIZE);
         gamesTable = new JTable(tableModel);
         gamesTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
-        
-        // Enable sorting
-        TableRowSorter<TableModel> tableSorter = new TableRowSorter<>(tableModel);
-        gamesTable.setRowSorter(tableSorter);
+        tableScrollPane = new JScrollPane(gamesTable);
         
         // Set column widths
         gamesTable.getColumnModel().getColumn(0).setPreferredWidth(50);  // ID
@@ -94,15 +100,25 @@ public class GamesLibraryMainView extends JFrame {
             statusFilter.addItem(status);
         }
         
+        searchField = new JTextField(18);
+        searchField.setToolTipText("Digite parte do título");
+        searchTimer = new Timer(SEARCH_DELAY_MILLIS, null);
+        searchTimer.setRepeats(false);
+        
         // Buttons
         addButton = new JButton("Adicionar Jogo");
         editButton = new JButton("Editar Jogo");
         deleteButton = new JButton("Remover Jogo");
         reportButton = new JButton("Gerar Relatório");
+        importButton = new JButton("Importar Jogos");
         applyFiltersButton = new JButton("Aplicar Filtros");
         clearFiltersButton = new JButton("Limpar Filtros");
         refreshButton = new JButton("Atualizar");
         
+        busyIndicator = new JProgressBar();
+        busyIndicator.setIndeterminate(true);
+        busyIndicator.setVisible(false);
+        
         // Initially disable edit/delete buttons
         editButton.setEnabled(false);
         deleteButton.setEnabled(false);
@@ -124,10 +140,11 @@ public class GamesLibraryMainView extends JFrame {
         filterPanel.add(applyFiltersButton);
         filterPanel.add(clearFiltersButton);
         filterPanel.add(refreshButton);
+        filterPanel.add(new JLabel("Buscar título:"));
+        filterPanel.add(searchField);
         
         // Center panel - Table
-        JScrollPane scrollPane = new JScrollPane(gamesTable);
-        scrollPane.setBorder(BorderFactory.createTitledBorder("Lista de Jogos"));
+        tableScrollPane.setBorder(BorderFactory.createTitledBorder("Lista de Jogos"));
         
         // Bottom panel - Action buttons
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
@@ -135,11 +152,16 @@ public class GamesLibraryMainView extends JFrame {
         buttonPanel.add(editButton);
         buttonPanel.add(deleteButton);
         buttonPanel.add(reportButton);
+        buttonPanel.add(importButton);
+        
+        JPanel southPanel = new JPanel(new BorderLayout());
+        southPanel.add(buttonPanel, BorderLayout.CENTER);
+        southPanel.add(busyIndicator, BorderLayout.EAST);
         
         // Add panels to the main frame
         add(filterPanel, BorderLayout.NORTH);
-        add(scrollPane, BorderLayout.CENTER);
-        add(buttonPanel, BorderLayout.SOUTH);
+        add(tableScrollPane, BorderLayout.CENTER);
+        add(southPanel, BorderLayout.SOUTH);
     }
     
     private void setupEventHandlers() {
@@ -150,23 +172,82 @@ public class GamesLibraryMainView extends JFrame {
                 deleteButton.setEnabled(hasSelection);
             }
         });
+
+        // Every keystroke restarts the timer, so the search only runs once typing pauses
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) { searchTimer.restart(); }
+            @Override
+            public void removeUpdate(DocumentEvent e) { searchTimer.restart(); }
+            @Override
+            public void changedUpdate(DocumentEvent e) { searchTimer.restart(); }
+        });
+
+        // Header clicks sort through the data source instead of a client-side row sorter
+        gamesTable.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int column = gamesTable.columnAtPoint(e.getPoint());
+                if (column == -1) return;
+                tableModel.sortByColumn(gamesTable.convertColumnIndexToModel(column));
+                updateSortIndicator();
+            }
+        });
+
+        // Fetch the next page as the user scrolls near the end of the loaded rows
+        tableScrollPane.getViewport().addChangeListener(e -> loadMoreIfNeeded());
+        tableModel.addTableModelListener(e -> SwingUtilities.invokeLater(this::loadMoreIfNeeded));
+    }
+
+    private void loadMoreIfNeeded() {
+        Rectangle visible = tableScrollPane.getViewport().getViewRect();
+        if (visible.height <= 0) return; // not laid out yet; loading now would fetch every page
+
+        int lastVisibleRow = gamesTable.rowAtPoint(new Point(0, visible.y + visible.height - 1));
+        tableModel.loadMoreIfNeeded(lastVisibleRow == -1 ? tableModel.getRowCount() - 1 : lastVisibleRow);
+    }
+
+    private void updateSortIndicator() {
+        for (int i = 0; i < gamesTable.getColumnCount(); i++) {
+            int modelColumn = gamesTable.convertColumnIndexToModel(i);
+            String name = tableModel.getColumnName(modelColumn);
+            if (modelColumn == tableModel.getSortColumn())
+                name += tableModel.isSortDescending() ? " ▼" : " ▲";
+            gamesTable.getColumnModel().getColumn(i).setHeaderValue(name);
+        }
+        gamesTable.getTableHeader().repaint();
     }
     
     public void setGamesData(List<GameModel> games) {
-        tableModel.setRowCount(0); // Clear existing data
-        
-        for (GameModel game : games) {
-            Object[] row = {
-                game.id(),
-                game.title(),
-                game.gender().name(),
-                game.platform().name(),
-                game.year(),
-                game.status().name(),
-                game.rate()
-            };
-            tableModel.addRow(row);
-        }
+        tableModel.setGames(games);
+    }
+
+    public void showGames(GamesTableModel.PageSource source, Predicate<GameModel> filter) {
+        tableModel.setSource(source, filter);
+    }
+
+    public void applyGameChange(GameModel game) {
+        int row = tableModel.upsert(game);
+        if (row == -1) return;
+
+        int viewRow = gamesTable.convertRowIndexToView(row);
+        gamesTable.getSelectionModel().setSelectionInterval(viewRow, viewRow);
+        gamesTable.scrollRectToVisible(gamesTable.getCellRect(viewRow, 0, true));
+    }
+
+    public void removeGame(int gameId) {
+        tableModel.remove(gameId);
+    }
+
+    /**
+     * Applies a game changed elsewhere without moving the user's selection or scroll position.
+     */
+    public void refreshGame(GameModel game) {
+        tableModel.upsert(game);
+    }
+
+    public void reloadGames() {
+        tableModel.refresh();
     }
     
     // Event registration for controller
@@ -177,6 +258,8 @@ public class GamesLibraryMainView extends JFrame {
     public void onApplyFilters(ActionListener l) { applyFiltersButton.addActionListener(l); }
     public void onClearFilters(ActionListener l) { clearFiltersButton.addActionListener(l); }
     public void onRefresh(ActionListener l) { refreshButton.addActionListener(l); }
+    public void onImport(ActionListener l) { importButton.addActionListener(l); }
+    public void onSearch(ActionListener l) { searchTimer.addActionListener(l); }
 
     public GameFormDialog.GameData promptAddGame() {
         GameFormDialog dialog = new GameFormDialog(this, "Adicionar Jogo", null);
@@ -190,24 +273,29 @@ public class GamesLibraryMainView extends JFrame {
         return dialog.isConfirmed() ? dialog.getGameData() : null;
     }
 
+    public Path promptImportFile() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Importar Jogos");
+        chooser.setFileFilter(new FileNameExtensionFilter("CSV ou JSON Lines (.csv, .jsonl, .gz)", "csv", "jsonl", "ndjson", "gz"));
+        return chooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION ? chooser.getSelectedFile().toPath() : null;
+    }
+
     public GameModel getSelectedGameFromTable() {
         int selectedRow = gamesTable.getSelectedRow();
         if (selectedRow == -1) return null;
-        int modelRow = gamesTable.convertRowIndexToModel(selectedRow);
-        int gameId = (Integer) tableModel.getValueAt(modelRow, 0);
-        String title = (String) tableModel.getValueAt(modelRow, 1);
-        Gender gender = Gender.fromString((String) tableModel.getValueAt(modelRow, 2));
-        Platform platform = Platform.fromString((String) tableModel.getValueAt(modelRow, 3));
-        int year = (Integer) tableModel.getValueAt(modelRow, 4);
-        Status status = Status.fromString((String) tableModel.getValueAt(modelRow, 5));
-        int rate = (Integer) tableModel.getValueAt(modelRow, 6);
-        return new GameModel(gameId, title, gender, platform, year, status, rate);
+        return tableModel.getGameAt(gamesTable.convertRowIndexToModel(selectedRow));
     }
 
     public Gender getSelectedGenderFilter() { return (Gender) genderFilter.getSelectedItem(); }
     public Platform getSelectedPlatformFilter() { return (Platform) platformFilter.getSelectedItem(); }
     public Status getSelectedStatusFilter() { return (Status) statusFilter.getSelectedItem(); }
 
+    public String getSearchText() { return searchField.getText(); }
+
+    public void clearSearch() {
+        searchField.setText("");
+    }
+
     public void resetFilters() {
         genderFilter.setSelectedIndex(0);
         platformFilter.setSelectedIndex(0);
@@ -230,6 +318,20 @@ public class GamesLibraryMainView extends JFrame {
         dialog.setVisible(true);
     }
 
+    /**
+     * Marks the start (true) or end (false) of a background operation; calls nest.
+     */
+    public void setBusy(boolean busy) {
+        busyCount = Math.max(0, busyCount + (busy ? 1 : -1));
+        boolean showBusy = busyCount > 0;
+        busyIndicator.setVisible(showBusy);
+        setCursor(showBusy ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+    }
+
+    public void setImportEnabled(boolean enabled) {
+        importButton.setEnabled(enabled);
+    }
+
     public void showInfoMessage(String message) {
         JOptionPane.showMessageDialog(this, message, "Sucesso", JOptionPane.INFORMATION_MESSAGE);
     }
@@ -0,0 +1,254 @@
+package com.cerbon.view;
+
+import com.cerbon.model.GameModel;
+import com.cerbon.repository.GameSortKey;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Predicate;
+
+/**
+ * Read-only table model for the games list that loads its rows one page at a time.
+ * Pages are requested asynchronously from a {@link PageSource} as the user scrolls towards the end of the
+ * loaded rows, and sorting is delegated to the source so that it runs in the database.
+ * Rows are indexed by game id so single added, edited or removed games can be applied
+ * in place with row-level events instead of reloading the list.
+ */
+public class GamesTableModel extends AbstractTableModel {
+    private static final String[] COLUMN_NAMES = {"ID", "Título", "Gênero", "Plataforma", "Ano", "Status", "Avaliação"};
+    private static final GameSortKey[] COLUMN_SORT_KEYS = {
+            GameSortKey.ID, GameSortKey.TITLE, GameSortKey.GENDER, GameSortKey.PLATFORM,
+            GameSortKey.YEAR, GameSortKey.STATUS, GameSortKey.RATE
+    };
+
+    /**
+     * Supplies the games that follow {@code after} (or the first ones when it is null) in the given order.
+     * The future may complete on any thread; the model applies the page on the EDT.
+     */
+    @FunctionalInterface
+    public interface PageSource {
+        CompletableFuture<List<GameModel>> fetch(GameSortKey sortKey, boolean descending, GameModel after, int limit);
+    }
+
+    private final int pageSize;
+    private final List<GameModel> rows = new ArrayList<>();
+    private final Map<Integer, Integer> rowById = new HashMap<>();
+    private PageSource source;
+    private Predicate<GameModel> filter = game -> false;
+    private GameSortKey sortKey = GameSortKey.ID;
+    private boolean descending = false;
+    private boolean hasMore = false;
+    private boolean loading = false;
+    private int generation = 0;
+
+    public GamesTableModel(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Shows the games supplied by {@code source}; {@code filter} tells which added or edited games belong in the list.
+     */
+    public void setSource(PageSource source, Predicate<GameModel> filter) {
+        this.source = source;
+        this.filter = filter;
+        reload();
+    }
+
+    public void setGames(List<GameModel> games) {
+        generation++;
+        loading = false;
+        this.source = null;
+        this.filter = game -> false;
+        this.hasMore = false;
+        rows.clear();
+        rows.addAll(games);
+        rows.sort(sortKey.comparator(descending));
+        reindexFrom(0);
+        fireTableDataChanged();
+    }
+
+    /**
+     * Applies an added or edited game: updates its row in place, moves it if its sort position
+     * changed, or inserts it when it matches the current list. Returns the game's row, or -1.
+     */
+    public int upsert(GameModel game) {
+        Integer row = rowById.get(game.id());
+        boolean belongs = row != null ? source == null || filter.test(game) : filter.test(game);
+
+        if (row != null && belongs && staysInPlace(row, game)) {
+            rows.set(row, game);
+            fireTableRowsUpdated(row, row);
+            return row;
+        }
+
+        if (row != null)
+            removeRow(row);
+        if (!belongs)
+            return -1;
+
+        int position = Collections.binarySearch(rows, game, sortKey.comparator(descending));
+        position = position < 0 ? -position - 1 : position;
+        // Past the loaded rows it will arrive with a later page
+        if (position == rows.size() && hasMore)
+            return -1;
+
+        rows.add(position, game);
+        reindexFrom(position);
+        fireTableRowsInserted(position, position);
+        return position;
+    }
+
+    /**
+     * Reloads the current list from its first page, keeping the source, filter and sort order.
+     */
+    public void refresh() {
+        if (source != null) reload();
+    }
+
+    public void remove(int gameId) {
+        Integer row = rowById.get(gameId);
+        if (row != null)
+            removeRow(row);
+    }
+
+    public void sortByColumn(int column) {
+        GameSortKey key = COLUMN_SORT_KEYS[column];
+        descending = key == sortKey && !descending;
+        sortKey = key;
+
+        if (source != null) {
+            reload();
+        } else {
+            rows.sort(sortKey.comparator(descending));
+            reindexFrom(0);
+            fireTableDataChanged();
+        }
+    }
+
+    public int getSortColumn() {
+        return sortKey.ordinal();
+    }
+
+    public boolean isSortDescending() {
+        return descending;
+    }
+
+    /**
+     * Loads the next page when {@code lastVisibleRow} is within half a page of the last loaded row.
+     */
+    public void loadMoreIfNeeded(int lastVisibleRow) {
+        if (hasMore && lastVisibleRow >= rows.size() - pageSize / 2)
+            loadNextPage();
+    }
+
+    public GameModel getGameAt(int row) {
+        return rows.get(row);
+    }
+
+    private boolean staysInPlace(int row, GameModel game) {
+        var comparator = sortKey.comparator(descending);
+        return (row == 0 || comparator.compare(rows.get(row - 1), game) < 0)
+                && (row == rows.size() - 1 || comparator.compare(game, rows.get(row + 1)) < 0);
+    }
+
+    private void removeRow(int row) {
+        rowById.remove(rows.remove(row).id());
+        reindexFrom(row);
+        fireTableRowsDeleted(row, row);
+    }
+
+    private void reindexFrom(int firstRow) {
+        for (int i = firstRow; i < rows.size(); i++)
+            rowById.put(rows.get(i).id(), i);
+    }
+
+    private void reload() {
+        // Pages still in flight for the previous list are dropped when they arrive
+        generation++;
+        loading = false;
+        rows.clear();
+        rowById.clear();
+        hasMore = source != null;
+        fireTableDataChanged();
+        if (hasMore) loadNextPage();
+    }
+
+    private void loadNextPage() {
+        if (loading) return;
+        loading = true;
+
+        int requestGeneration = generation;
+        GameModel after = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+        source.fetch(sortKey, descending, after, pageSize).whenComplete((page, error) -> SwingUtilities.invokeLater(() -> {
+            if (requestGeneration != generation) return;
+            loading = false;
+
+            if (error != null) {
+                System.err.println("Error loading games page: " + error.getMessage());
+                hasMore = false;
+                return;
+            }
+            appendPage(page);
+        }));
+    }
+
+    private void appendPage(List<GameModel> page) {
+        hasMore = page.size() == pageSize;
+        if (page.isEmpty()) return;
+
+        int firstRow = rows.size();
+        for (GameModel game : page) {
+            // Games applied through upsert may already be shown
+            if (!rowById.containsKey(game.id())) {
+                rowById.put(game.id(), rows.size());
+                rows.add(game);
+            }
+        }
+        if (rows.size() > firstRow)
+            fireTableRowsInserted(firstRow, rows.size() - 1);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return switch (column) {
+            case 0, 4, 6 -> Integer.class;
+            default -> String.class;
+        };
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        GameModel game = rows.get(row);
+        return switch (column) {
+            case 0 -> game.id();
+            case 1 -> game.title();
+            case 2 -> game.gender().name();
+            case 3 -> game.platform().name();
+            case 4 -> game.year();
+            case 5 -> game.status().name();
+            case 6 -> game.rate();
+            default -> throw new IndexOutOfBoundsException("Invalid column: " + column);
+        };
+    }
+}
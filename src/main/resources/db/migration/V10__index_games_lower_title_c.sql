@@ -0,0 +1,4 @@
+-- Flyway migration: search-as-you-type lists titles starting with the fragment first, in "C" collation order.
+-- A btree over the lowered title in that collation serves lower(title) COLLATE "C" LIKE 'prefix%' as a range
+-- scan already in result order, so the first page is read without sorting every match.
+CREATE INDEX IF NOT EXISTS idx_games_lower_title_c ON games ((lower(title) COLLATE "C"), id);
@@ -0,0 +1,4 @@
+-- Flyway migration: index the columns used by the library filters
+CREATE INDEX IF NOT EXISTS idx_games_gender ON games (gender);
+CREATE INDEX IF NOT EXISTS idx_games_platform ON games (platform);
+CREATE INDEX IF NOT EXISTS idx_games_status ON games (status);
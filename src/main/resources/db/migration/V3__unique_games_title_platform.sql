@@ -0,0 +1,11 @@
+-- Flyway migration: one game per title (case and surrounding spaces ignored) and platform
+-- Rows entered before the rule existed may already repeat a title; the oldest keeps it and the others
+-- get their id appended (e.g. "Hades (42)"), so no game is lost and the index can be built
+UPDATE games g
+SET title = trim(g.title) || ' (' || g.id || ')'
+FROM (SELECT id, row_number() OVER (PARTITION BY lower(trim(title)), platform ORDER BY id) AS position
+      FROM games
+      WHERE platform IS NOT NULL) duplicates
+WHERE g.id = duplicates.id AND duplicates.position > 1;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_games_title_platform ON games (lower(trim(title)), platform);
@@ -0,0 +1,12 @@
+-- Flyway migration: (sort column, id) indexes for keyset pagination of the games list.
+-- The filter indexes from V2 are replaced by their (column, id) counterparts, which serve both.
+DROP INDEX IF EXISTS idx_games_gender;
+DROP INDEX IF EXISTS idx_games_platform;
+DROP INDEX IF EXISTS idx_games_status;
+
+CREATE INDEX IF NOT EXISTS idx_games_gender_id ON games (gender, id);
+CREATE INDEX IF NOT EXISTS idx_games_platform_id ON games (platform, id);
+CREATE INDEX IF NOT EXISTS idx_games_status_id ON games (status, id);
+CREATE INDEX IF NOT EXISTS idx_games_title_id ON games (title, id);
+CREATE INDEX IF NOT EXISTS idx_games_year_id ON games (year, id);
+CREATE INDEX IF NOT EXISTS idx_games_rate_id ON games (rate, id);
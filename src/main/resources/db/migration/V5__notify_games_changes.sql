@@ -0,0 +1,18 @@
+-- Flyway migration: publish every change to the games table on the games_changes channel.
+-- Payload is '<operation>:<id>', e.g. 'UPDATE:42'; listeners re-read the row themselves.
+CREATE OR REPLACE FUNCTION notify_games_change() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('games_changes', TG_OP || ':' || OLD.id);
+        RETURN OLD;
+    END IF;
+
+    PERFORM pg_notify('games_changes', TG_OP || ':' || NEW.id);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS games_change_notify ON games;
+CREATE TRIGGER games_change_notify
+    AFTER INSERT OR UPDATE OR DELETE ON games
+    FOR EACH ROW EXECUTE FUNCTION notify_games_change();
@@ -0,0 +1,5 @@
+-- Flyway migration: trigram index for searching games by any fragment of their title.
+-- Serves lower(title) LIKE '%fragment%' and LIKE 'prefix%' without scanning the table.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_games_title_trgm ON games USING gin (lower(title) gin_trgm_ops);
@@ -0,0 +1,57 @@
+-- Flyway migration: store gender, platform and status as SMALLINT codes instead of their names.
+-- The codes are the ones declared by the Gender, Platform and Status enums; unknown or missing
+-- names become the same fallback the application already used (OTHER, OTHER, WISHLIST).
+-- Indexes on these columns are rebuilt by the type change, at a fraction of their former size.
+
+-- Names that map to the same code ('pc' and 'PC', or NULL and 'OTHER') were different platforms to V3's
+-- unique index but are the same one after the change; as in V3, the oldest game keeps its title and the
+-- others get their id appended, so that the unique index can be rebuilt
+UPDATE games g
+SET title = trim(g.title) || ' (' || g.id || ')'
+FROM (SELECT id, row_number() OVER (
+                 PARTITION BY lower(trim(title)), CASE upper(trim(platform))
+                     WHEN 'PC' THEN 0
+                     WHEN 'PLAYSTATION' THEN 1
+                     WHEN 'XBOX' THEN 2
+                     WHEN 'SWITCH' THEN 3
+                     WHEN 'MOBILE' THEN 4
+                     WHEN 'OTHER' THEN 5
+                     ELSE 5 END
+                 ORDER BY id) AS position
+      FROM games) duplicates
+WHERE g.id = duplicates.id AND duplicates.position > 1;
+
+ALTER TABLE games
+    ALTER COLUMN gender TYPE SMALLINT USING CASE upper(trim(gender))
+        WHEN 'ACTION' THEN 0
+        WHEN 'ADVENTURE' THEN 1
+        WHEN 'RPG' THEN 2
+        WHEN 'STRATEGY' THEN 3
+        WHEN 'SPORTS' THEN 4
+        WHEN 'SIMULATION' THEN 5
+        WHEN 'PUZZLE' THEN 6
+        WHEN 'HORROR' THEN 7
+        WHEN 'PLATFORMER' THEN 8
+        WHEN 'RACING' THEN 9
+        WHEN 'OTHER' THEN 10
+        ELSE 10 END,
+    ALTER COLUMN platform TYPE SMALLINT USING CASE upper(trim(platform))
+        WHEN 'PC' THEN 0
+        WHEN 'PLAYSTATION' THEN 1
+        WHEN 'XBOX' THEN 2
+        WHEN 'SWITCH' THEN 3
+        WHEN 'MOBILE' THEN 4
+        WHEN 'OTHER' THEN 5
+        ELSE 5 END,
+    ALTER COLUMN status TYPE SMALLINT USING CASE upper(trim(status))
+        WHEN 'TO_PLAY' THEN 0
+        WHEN 'PLAYING' THEN 1
+        WHEN 'STOPPED' THEN 2
+        WHEN 'CONCLUDED' THEN 3
+        WHEN 'WISHLIST' THEN 4
+        ELSE 4 END;
+
+ALTER TABLE games
+    ALTER COLUMN gender SET NOT NULL,
+    ALTER COLUMN platform SET NOT NULL,
+    ALTER COLUMN status SET NOT NULL;
@@ -0,0 +1,5 @@
+-- Flyway migration: titles are paged in "C" collation order (by code point), the order the application
+-- uses for rows it holds in memory, so the (title, id) keyset index is rebuilt with that collation.
+DROP INDEX IF EXISTS idx_games_title_id;
+
+CREATE INDEX IF NOT EXISTS idx_games_title_c_id ON games (title COLLATE "C", id);
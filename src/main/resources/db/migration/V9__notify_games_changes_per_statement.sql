@@ -0,0 +1,45 @@
+-- Flyway migration: publish changes on the games_changes channel once per statement instead of once per row.
+-- Payload is '<operation>:<id>,<id>,...' with the ids the statement changed, e.g. 'UPDATE:42,43', or 'RESET'
+-- when it changed more rows than fit comfortably in one notification (payloads are limited to 8000 bytes).
+DROP TRIGGER IF EXISTS games_change_notify ON games;
+DROP FUNCTION IF EXISTS notify_games_change();
+
+CREATE OR REPLACE FUNCTION notify_games_changes() RETURNS trigger AS $$
+DECLARE
+    changed bigint;
+    ids text;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        SELECT count(*) INTO changed FROM old_games;
+    ELSE
+        SELECT count(*) INTO changed FROM new_games;
+    END IF;
+
+    IF changed = 0 THEN
+        RETURN NULL;
+    ELSIF changed > 500 THEN
+        PERFORM pg_notify('games_changes', 'RESET');
+        RETURN NULL;
+    END IF;
+
+    IF TG_OP = 'DELETE' THEN
+        SELECT string_agg(id::text, ',' ORDER BY id) INTO ids FROM old_games;
+    ELSE
+        SELECT string_agg(id::text, ',' ORDER BY id) INTO ids FROM new_games;
+    END IF;
+    PERFORM pg_notify('games_changes', TG_OP || ':' || ids);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER games_insert_notify
+    AFTER INSERT ON games REFERENCING NEW TABLE AS new_games
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_games_changes();
+
+CREATE TRIGGER games_update_notify
+    AFTER UPDATE ON games REFERENCING NEW TABLE AS new_games
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_games_changes();
+
+CREATE TRIGGER games_delete_notify
+    AFTER DELETE ON games REFERENCING OLD TABLE AS old_games
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_games_changes();
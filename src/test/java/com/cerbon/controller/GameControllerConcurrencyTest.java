@@ -0,0 +1,135 @@
+package com.cerbon.controller;
+
+import com.cerbon.model.GameModel;
+import com.cerbon.model.type.Gender;
+import com.cerbon.model.type.Platform;
+import com.cerbon.model.type.Status;
+import com.cerbon.repository.memory.GameCatalog;
+import com.cerbon.repository.memory.InMemoryGamesRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameControllerConcurrencyTest {
+    private static final int THREADS = 256;
+    private static final int TITLES = 16;
+
+    @Test
+    void concurrentAddsOfTheSameGameStoreItOnce() throws InterruptedException {
+        DeferredCheckRepository repository = new DeferredCheckRepository(200_000);
+        GameController controller = new GameController(repository, null);
+
+        for (int round = 0; round < 10; round++) {
+            int r = round;
+            int accepted = runConcurrently(thread -> {
+                // The same title typed in different cases and with spaces around it
+                String title = "Stress " + r + " " + thread % TITLES;
+                String typed = switch (thread / TITLES % 3) {
+                    case 0 -> title;
+                    case 1 -> title.toUpperCase(Locale.ROOT);
+                    default -> "  " + title.toLowerCase(Locale.ROOT) + " ";
+                };
+                return controller.addGame(typed, Gender.ACTION, Platform.PC, 2020, Status.TO_PLAY, 5).success();
+            });
+
+            assertEquals(TITLES, accepted);
+            assertEquals(0, repository.duplicates());
+        }
+    }
+
+    @Test
+    void concurrentAddsOfDifferentGamesRunInParallel() throws InterruptedException {
+        DeferredCheckRepository repository = new DeferredCheckRepository(5_000_000);
+        GameController controller = new GameController(repository, null);
+        int threads = 64;
+
+        int added = runConcurrently(threads, thread ->
+                controller.addGame("Distinct " + thread, Gender.RPG, Platform.SWITCH, 2021, Status.PLAYING, 7).success());
+
+        assertEquals(threads, added);
+        // Adds serialized by the controller would never overlap in the repository
+        assertTrue(repository.maxAddsInFlight() > 1, "Adds in flight at once: " + repository.maxAddsInFlight());
+    }
+
+    private static int runConcurrently(IntPredicate add) throws InterruptedException {
+        return runConcurrently(THREADS, add);
+    }
+
+    /**
+     * Starts {@code threads} virtual threads together and returns how many of their adds succeeded.
+     */
+    private static int runConcurrently(int threads, IntPredicate add) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int thread = 0; thread < threads; thread++) {
+                int t = thread;
+                executor.submit(() -> {
+                    start.await();
+                    if (add.test(t)) succeeded.incrementAndGet();
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+        return succeeded.get();
+    }
+
+    /**
+     * Repository whose adds always succeed, after a pause standing in for a database round trip, and whose
+     * duplicate check only sees adds that have completed, as with the write-behind queue; only the controller
+     * can keep duplicates out. Counts how often each title and platform was stored, and the most adds running at once.
+     */
+    private static final class DeferredCheckRepository extends InMemoryGamesRepository {
+        private final Map<String, AtomicInteger> stored = new ConcurrentHashMap<>();
+        private final AtomicInteger nextId = new AtomicInteger(1);
+        private final AtomicInteger addsInFlight = new AtomicInteger();
+        private final AtomicInteger maxAddsInFlight = new AtomicInteger();
+        private final long latencyNanos;
+
+        DeferredCheckRepository(long latencyNanos) {
+            this.latencyNanos = latencyNanos;
+        }
+
+        @Override
+        public Optional<GameModel> add(GameModel game) {
+            maxAddsInFlight.accumulateAndGet(addsInFlight.incrementAndGet(), Math::max);
+            try {
+                LockSupport.parkNanos(latencyNanos);
+            } finally {
+                addsInFlight.decrementAndGet();
+            }
+            stored.computeIfAbsent(GameCatalog.titleKey(game.title(), game.platform()), key -> new AtomicInteger()).incrementAndGet();
+            return Optional.of(new GameModel(nextId.getAndIncrement(), game.title(), game.gender(), game.platform(),
+                    game.year(), game.status(), game.rate()));
+        }
+
+        @Override
+        public boolean existsByTitleAndPlatform(String title, Platform platform, int excludedId) {
+            LockSupport.parkNanos(latencyNanos);
+            return stored.containsKey(GameCatalog.titleKey(title, platform));
+        }
+
+        int maxAddsInFlight() {
+            return maxAddsInFlight.get();
+        }
+
+        int duplicates() {
+            int duplicates = 0;
+            for (AtomicInteger count : stored.values())
+                duplicates += count.get() - 1;
+            return duplicates;
+        }
+    }
+}
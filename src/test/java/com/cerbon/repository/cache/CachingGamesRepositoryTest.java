@@ -0,0 +1,143 @@
+package com.cerbon.repository.cache;
+
+import com.cerbon.model.GameModel;
+import com.cerbon.model.type.Gender;
+import com.cerbon.model.type.Platform;
+import com.cerbon.model.type.Status;
+import com.cerbon.repository.GameCriteria;
+import com.cerbon.repository.memory.InMemoryGamesRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingGamesRepositoryTest {
+    private static final int GAMES = 50;
+
+    @Test
+    void concurrentWritesOfOneGameAreCachedInCommitOrder() throws Exception {
+        SlowRepository store = new SlowRepository();
+        List<GameModel> games = addGames(store);
+        CachingGamesRepository cache = new CachingGamesRepository(store, 1_000, EvictionPolicy.LRU);
+        assertEquals(GAMES, cache.getAll().size());
+
+        // Every write pauses between its commit and its return, when an unordered cache update would fall behind
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int thread = 0; thread < 32; thread++) {
+                SplittableRandom random = new SplittableRandom(thread);
+                executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        GameModel game = games.get(random.nextInt(games.size()));
+                        if (random.nextInt(10) == 0) cache.delete(game.id());
+                        else cache.update(withRate(game, random.nextInt(11)));
+                    }
+                });
+            }
+        }
+
+        for (GameModel game : games)
+            assertEquals(store.getById(game.id()), cache.getById(game.id()), "game " + game.id());
+    }
+
+    @Test
+    void readsAndWritesCarryOnWhileTheSnapshotLoads() throws Exception {
+        SlowRepository store = new SlowRepository();
+        List<GameModel> games = addGames(store);
+        CachingGamesRepository cache = new CachingGamesRepository(store, 1_000, EvictionPolicy.FIFO);
+
+        store.pauseStreaming = new CountDownLatch(1);
+        CompletableFuture<List<GameModel>> loading = CompletableFuture.supplyAsync(cache::getAll);
+        store.streaming.await(5, TimeUnit.SECONDS);
+
+        // The load is stuck half way; a second read is answered by the store instead of waiting for it
+        List<GameModel> filtered = CompletableFuture.supplyAsync(() -> cache.find(new GameCriteria(Gender.RPG, null, null)))
+                .get(5, TimeUnit.SECONDS);
+        assertEquals(GAMES, filtered.size());
+        GameModel updated = withRate(games.get(0), 10);
+        cache.update(updated);
+        cache.delete(games.get(GAMES - 1).id());
+
+        store.pauseStreaming.countDown();
+        assertEquals(GAMES - 1, loading.get(5, TimeUnit.SECONDS).size());
+
+        // The writes made during the load were replayed onto the new snapshot
+        store.failReads = true;
+        assertEquals(Optional.of(updated), cache.getById(updated.id()));
+        assertEquals(Optional.empty(), cache.getById(games.get(GAMES - 1).id()));
+        assertEquals(GAMES - 1, cache.getAll().size());
+    }
+
+    private static List<GameModel> addGames(InMemoryGamesRepository store) {
+        List<GameModel> games = new ArrayList<>();
+        for (int i = 0; i < GAMES; i++)
+            games.add(store.add(new GameModel(0, "Game " + i, Gender.RPG, Platform.PC, 2020, Status.PLAYING, 5)).orElseThrow());
+        return games;
+    }
+
+    private static GameModel withRate(GameModel game, int rate) {
+        return new GameModel(game.id(), game.title(), game.gender(), game.platform(), game.year(), game.status(), rate);
+    }
+
+    /**
+     * Store whose writes pause after committing, whose snapshot stream can be held half way, and whose reads
+     * can be made to fail to prove they are answered from the cache.
+     */
+    private static final class SlowRepository extends InMemoryGamesRepository {
+        private final CountDownLatch streaming = new CountDownLatch(1);
+        private volatile CountDownLatch pauseStreaming;
+        private volatile boolean failReads;
+
+        @Override
+        public Optional<GameModel> update(GameModel game) {
+            Optional<GameModel> updated = super.update(game);
+            pause();
+            return updated;
+        }
+
+        @Override
+        public boolean delete(int id) {
+            boolean deleted = super.delete(id);
+            pause();
+            return deleted;
+        }
+
+        @Override
+        public Optional<GameModel> getById(int id) {
+            if (failReads) throw new AssertionError("read from the store");
+            return super.getById(id);
+        }
+
+        @Override
+        public long streamAll(Consumer<? super GameModel> consumer) {
+            if (failReads) throw new AssertionError("read from the store");
+            // Copied first: holding the store's monitor while paused would block the writes under test
+            List<GameModel> games = super.getAll();
+            for (int i = 0; i < games.size(); i++) {
+                if (i == games.size() / 2 && pauseStreaming != null) {
+                    streaming.countDown();
+                    try {
+                        pauseStreaming.await();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+                consumer.accept(games.get(i));
+            }
+            return games.size();
+        }
+
+        private static void pause() {
+            try {
+                Thread.sleep(0, ThreadLocalRandom.current().nextInt(200_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
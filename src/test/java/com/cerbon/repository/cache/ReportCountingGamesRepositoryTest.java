@@ -0,0 +1,127 @@
+package com.cerbon.repository.cache;
+
+import com.cerbon.model.GameModel;
+import com.cerbon.model.type.Gender;
+import com.cerbon.model.type.Platform;
+import com.cerbon.model.type.Status;
+import com.cerbon.repository.ConcludedGamesReport;
+import com.cerbon.repository.GameChange;
+import com.cerbon.repository.RepositoryException;
+import com.cerbon.repository.memory.InMemoryGamesRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportCountingGamesRepositoryTest {
+    @Test
+    void concurrentWritesKeepTheCountersExact() {
+        InMemoryGamesRepository store = new SlowReadRepository();
+        ReportCountingGamesRepository counting = new ReportCountingGamesRepository(store);
+        List<GameModel> games = new ArrayList<>();
+        for (int i = 0; i < 20; i++)
+            games.add(counting.add(game("Game " + i, Status.CONCLUDED)).orElseThrow());
+        counting.rebuild();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int thread = 0; thread < 16; thread++) {
+                SplittableRandom random = new SplittableRandom(thread);
+                int t = thread;
+                executor.submit(() -> {
+                    for (int i = 0; i < 300; i++) {
+                        GameModel game = games.get(random.nextInt(games.size()));
+                        switch (random.nextInt(8)) {
+                            case 0 -> counting.delete(game.id());
+                            case 1 -> counting.add(game("Added " + t + " " + i, Status.CONCLUDED));
+                            default -> counting.update(new GameModel(game.id(), game.title(), game.gender(), game.platform(),
+                                    game.year(), random.nextBoolean() ? Status.CONCLUDED : Status.PLAYING, game.rate()));
+                        }
+                    }
+                });
+            }
+        }
+
+        assertEquals(store.getConcludedReport(), counting.getConcludedReport());
+    }
+
+    @Test
+    void failedRebuildKeepsTheCountersStale() {
+        FailingRepository store = new FailingRepository();
+        store.add(game("Concluded", Status.CONCLUDED));
+        ReportCountingGamesRepository counting = new ReportCountingGamesRepository(store);
+
+        store.failReports = true;
+        assertThrows(RepositoryException.class, counting::getConcludedReport);
+
+        // Not an empty report remembered from the failed read: the next report reads the store again
+        store.failReports = false;
+        ConcludedGamesReport report = counting.getConcludedReport();
+        assertEquals(Map.of(Platform.PC, 1L), report.byPlatform());
+    }
+
+    @Test
+    void echoesOfOwnBulkInsertsKeepTheCountersCurrent() {
+        ReportReadingRepository store = new ReportReadingRepository();
+        ReportCountingGamesRepository counting = new ReportCountingGamesRepository(store);
+        counting.rebuild();
+
+        counting.addAll(List.of(game("Portal", Status.CONCLUDED), game("Braid", Status.PLAYING)));
+        counting.onGameChanges(store.getAll().stream().map(game -> new GameChange(GameChange.Type.INSERT, game.id(), game)).toList());
+        assertEquals(Map.of(Platform.PC, 1L), counting.getConcludedReport().byPlatform());
+        assertEquals(1, store.reportReads);
+
+        // An insert by another client is not ours, so the next report reads the store again
+        GameModel foreign = store.add(game("Limbo", Status.CONCLUDED)).orElseThrow();
+        counting.onGameChanges(List.of(new GameChange(GameChange.Type.INSERT, foreign.id(), foreign)));
+        assertEquals(Map.of(Platform.PC, 2L), counting.getConcludedReport().byPlatform());
+        assertEquals(2, store.reportReads);
+    }
+
+    private static GameModel game(String title, Status status) {
+        return new GameModel(0, title, Gender.ACTION, Platform.PC, 2020, status, 5);
+    }
+
+    /**
+     * Store whose lookups pause after reading, when a racing write of the same game would be counted twice.
+     */
+    private static final class SlowReadRepository extends InMemoryGamesRepository {
+        @Override
+        public Optional<GameModel> getById(int id) {
+            Optional<GameModel> game = super.getById(id);
+            try {
+                Thread.sleep(0, ThreadLocalRandom.current().nextInt(200_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return game;
+        }
+    }
+
+    private static final class ReportReadingRepository extends InMemoryGamesRepository {
+        private int reportReads;
+
+        @Override
+        public ConcludedGamesReport getConcludedReport() {
+            reportReads++;
+            return super.getConcludedReport();
+        }
+    }
+
+    private static final class FailingRepository extends InMemoryGamesRepository {
+        private volatile boolean failReports;
+
+        @Override
+        public ConcludedGamesReport getConcludedReport() {
+            if (failReports) throw new RepositoryException("Report unavailable", null);
+            return super.getConcludedReport();
+        }
+    }
+}
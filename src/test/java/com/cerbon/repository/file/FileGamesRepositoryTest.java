@@ -0,0 +1,149 @@
+package com.cerbon.repository.file;
+
+import com.cerbon.model.GameModel;
+import com.cerbon.model.type.Gender;
+import com.cerbon.model.type.Platform;
+import com.cerbon.model.type.Status;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileGamesRepositoryTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopeningReplaysTheLog() throws IOException {
+        List<GameModel> expected;
+        try (FileGamesRepository repository = open(1_000)) {
+            GameModel first = repository.add(game("Portal")).orElseThrow();
+            GameModel second = repository.add(game("Braid")).orElseThrow();
+            repository.add(game("Limbo")).orElseThrow();
+            repository.update(new GameModel(first.id(), "Portal 2", first.gender(), first.platform(), first.year(), Status.CONCLUDED, 9));
+            repository.delete(second.id());
+            expected = repository.getAll();
+        }
+
+        try (FileGamesRepository repository = open(1_000)) {
+            assertEquals(expected, repository.getAll());
+            // Ids are never reused, not even those of deleted games
+            assertEquals(4, repository.add(game("Fez")).orElseThrow().id());
+        }
+    }
+
+    @Test
+    void aTornRecordAtTheEndOfTheLogIsDropped() throws IOException {
+        try (FileGamesRepository repository = open(1_000)) {
+            repository.add(game("Portal"));
+            repository.add(game("Braid"));
+        }
+        Path log = single("wal-");
+        truncate(log, Files.size(log) - 3);
+
+        try (FileGamesRepository repository = open(1_000)) {
+            assertEquals(List.of("Portal"), titles(repository));
+            // The torn bytes are cut off, so records appended now are not hidden behind them
+            repository.add(game("Limbo"));
+        }
+
+        try (FileGamesRepository repository = open(1_000)) {
+            assertEquals(List.of("Portal", "Limbo"), titles(repository));
+        }
+    }
+
+    @Test
+    void aDamagedSnapshotFallsBackToTheOneBeforeIt() throws IOException {
+        try (FileGamesRepository repository = open(3)) {
+            for (String title : List.of("Portal", "Braid", "Limbo", "Fez"))
+                repository.add(game(title));
+        }
+        Path snapshot = single("snapshot-");
+        // A newer snapshot cut short before its footer, as a crash while writing it without the rename would leave
+        Path damaged = directory.resolve(String.format("snapshot-%020d.dat", 99));
+        Files.copy(snapshot, damaged);
+        truncate(damaged, Files.size(damaged) - 1);
+
+        try (FileGamesRepository repository = open(1_000)) {
+            assertEquals(List.of("Portal", "Braid", "Limbo", "Fez"), titles(repository));
+        }
+    }
+
+    @Test
+    void aDamagedSnapshotWithoutTheLogsBeforeItFailsToOpen() throws IOException {
+        try (FileGamesRepository repository = open(3)) {
+            for (String title : List.of("Portal", "Braid", "Limbo", "Fez"))
+                repository.add(game(title));
+        }
+        // The logs the snapshot replaced are gone, so the games in it exist nowhere else
+        Path snapshot = single("snapshot-");
+        truncate(snapshot, Files.size(snapshot) - 1);
+
+        assertThrows(IOException.class, () -> open(1_000));
+        assertTrue(Files.exists(snapshot), "the damaged snapshot is kept for recovery");
+    }
+
+    @Test
+    void rotationKeepsEveryWriteAndDeletesTheFilesItReplaces() throws IOException {
+        List<GameModel> expected;
+        try (FileGamesRepository repository = open(10)) {
+            for (int i = 0; i < 35; i++) {
+                GameModel game = repository.add(game("Game " + i)).orElseThrow();
+                if (i % 3 == 0) repository.update(new GameModel(game.id(), game.title(), game.gender(), game.platform(),
+                        game.year(), Status.CONCLUDED, 10));
+                if (i % 5 == 0) repository.delete(game.id());
+            }
+            expected = repository.getAll();
+        }
+
+        try (FileGamesRepository repository = open(10)) {
+            assertEquals(expected, repository.getAll());
+        }
+        // Only the newest snapshot is left, with the logs written since it was started
+        long snapshotGeneration = generation(single("snapshot-"));
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path log : files.filter(file -> file.getFileName().toString().startsWith("wal-")).toList())
+                assertTrue(generation(log) >= snapshotGeneration, log + " is older than the snapshot");
+        }
+    }
+
+    private FileGamesRepository open(int compactAfterRecords) throws IOException {
+        return FileGamesRepository.open(new FileStoreConfig(true, directory, FsyncPolicy.ALWAYS, Duration.ofMillis(2), compactAfterRecords));
+    }
+
+    private Path single(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> matching = files.filter(file -> file.getFileName().toString().startsWith(prefix)).toList();
+            assertEquals(1, matching.size(), "files starting with " + prefix);
+            return matching.getFirst();
+        }
+    }
+
+    private static long generation(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(name.indexOf('-') + 1, name.indexOf('.')));
+    }
+
+    private static void truncate(Path file, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+        }
+    }
+
+    private static List<String> titles(FileGamesRepository repository) {
+        return repository.getAll().stream().map(GameModel::title).toList();
+    }
+
+    private static GameModel game(String title) {
+        return new GameModel(0, title, Gender.PUZZLE, Platform.PC, 2010, Status.PLAYING, 8);
+    }
+}
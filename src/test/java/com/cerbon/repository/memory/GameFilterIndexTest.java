@@ -0,0 +1,61 @@
+package com.cerbon.repository.memory;
+
+import com.cerbon.model.GameModel;
+import com.cerbon.model.type.Gender;
+import com.cerbon.model.type.Platform;
+import com.cerbon.model.type.Status;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameFilterIndexTest {
+    @Test
+    void shortFragmentsMatchPrefixesInCodePointOrder() {
+        GameFilterIndex index = new GameFilterIndex();
+        index.put(game(1, "Zelda"));
+        index.put(game(2, "Halo"));
+        index.put(game(3, "halo 2"));
+        index.put(game(4, "Hades"));
+        index.put(game(5, "Ohm"));
+        index.put(game(6, "Ha😀"));
+        index.put(game(7, "HaＡ"));
+
+        assertEquals(List.of(4, 2, 3, 7, 6), ids(index.searchTitle(" HA ", 10)));
+        assertEquals(List.of(4, 2), ids(index.searchTitle("ha", 2)));
+        assertEquals(List.of(), ids(index.searchTitle("hx", 10)));
+    }
+
+    @Test
+    void renamedAndRemovedTitlesLeaveThePrefixSearch() {
+        GameFilterIndex index = new GameFilterIndex();
+        index.put(game(1, "Halo"));
+        index.put(game(2, "Hades"));
+        index.put(game(1, "Portal"));
+        index.remove(2);
+        index.put(game(3, "Hacknet"));
+
+        assertEquals(List.of(3), ids(index.searchTitle("ha", 10)));
+        assertEquals(List.of(1), ids(index.searchTitle("po", 10)));
+    }
+
+    @Test
+    void longerFragmentsListPrefixMatchesBeforeOtherMatches() {
+        GameFilterIndex index = new GameFilterIndex();
+        index.put(game(1, "The Portal"));
+        index.put(game(2, "Portal 2"));
+        index.put(game(3, "Portal"));
+        index.put(game(4, "Braid"));
+
+        assertEquals(List.of(3, 2, 1), ids(index.searchTitle("portal", 10)));
+    }
+
+    private static GameModel game(int id, String title) {
+        return new GameModel(id, title, Gender.ACTION, Platform.PC, 2020, Status.PLAYING, 5);
+    }
+
+    private static List<Integer> ids(List<GameModel> games) {
+        return games.stream().map(GameModel::id).toList();
+    }
+}
@@ -0,0 +1,58 @@
+package com.cerbon.repository.metrics;
+
+import com.cerbon.model.GameModel;
+import com.cerbon.repository.GameCriteria;
+import com.cerbon.repository.memory.InMemoryGamesRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentedGamesRepositoryTest {
+    @Test
+    void errorsTurnedIntoEmptyResultsAreCounted() {
+        RepositoryMetrics metrics = new RepositoryMetrics();
+        SwallowingRepository store = new SwallowingRepository(metrics::recordFailure);
+        InstrumentedGamesRepository repository = new InstrumentedGamesRepository(store, metrics);
+
+        assertEquals(List.of(), repository.find(GameCriteria.ANY));
+        assertEquals(Optional.empty(), repository.getById(1));
+
+        assertEquals(1, metrics.operation("find").getErrors());
+        assertEquals(0, metrics.operation("getById").getErrors());
+    }
+
+    @Test
+    void thrownErrorsAreCounted() {
+        RepositoryMetrics metrics = new RepositoryMetrics();
+        InstrumentedGamesRepository repository = new InstrumentedGamesRepository(new InMemoryGamesRepository() {
+            @Override
+            public Optional<GameModel> getById(int id) {
+                throw new IllegalStateException("Store unavailable");
+            }
+        }, metrics);
+
+        assertThrows(IllegalStateException.class, () -> repository.getById(1));
+        assertEquals(1, metrics.operation("getById").getErrors());
+    }
+
+    /**
+     * Store whose filters fail the way PostgresGamesRepository's do: the error is reported and an empty list returned.
+     */
+    private static final class SwallowingRepository extends InMemoryGamesRepository {
+        private final Runnable errorListener;
+
+        SwallowingRepository(Runnable errorListener) {
+            this.errorListener = errorListener;
+        }
+
+        @Override
+        public List<GameModel> find(GameCriteria criteria) {
+            errorListener.run();
+            return new ArrayList<>();
+        }
+    }
+}